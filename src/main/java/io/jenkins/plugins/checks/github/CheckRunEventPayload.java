@@ -0,0 +1,152 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The fields of a {@code check_run} webhook payload that are required to handle a rerun request. The payload is read
+ * with a streaming parser in a single pass, all other values (e.g. the potentially huge output of the check run) are
+ * skipped without being materialized.
+ */
+final class CheckRunEventPayload {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String ACTION = "action";
+    private static final String CHECK_RUN = "check_run";
+    private static final String CHECK_RUN_ID = "check_run.id";
+    private static final String EXTERNAL_ID = "check_run.external_id";
+    private static final String CHECK_SUITE = "check_run.check_suite";
+    private static final String HEAD_BRANCH = "check_run.check_suite.head_branch";
+    private static final String SENDER = "sender";
+    private static final String SENDER_LOGIN = "sender.login";
+    private static final String REPOSITORY = "repository";
+    private static final String REPOSITORY_FULL_NAME = "repository.full_name";
+
+    private static final Set<String> OBJECTS = Set.of(CHECK_RUN, CHECK_SUITE, SENDER, REPOSITORY);
+    private static final Set<String> VALUES = Set.of(ACTION, CHECK_RUN_ID, EXTERNAL_ID, HEAD_BRANCH, SENDER_LOGIN,
+            REPOSITORY_FULL_NAME);
+
+    private final String action;
+    private final String checkRunId;
+    private final String externalId;
+    private final String headBranch;
+    private final String senderLogin;
+    private final String repositoryFullName;
+
+    private CheckRunEventPayload(final Map<String, String> values) {
+        this.action = values.getOrDefault(ACTION, "");
+        this.checkRunId = values.getOrDefault(CHECK_RUN_ID, "");
+        this.externalId = values.getOrDefault(EXTERNAL_ID, "");
+        this.headBranch = values.getOrDefault(HEAD_BRANCH, "");
+        this.senderLogin = values.getOrDefault(SENDER_LOGIN, "");
+        this.repositoryFullName = values.getOrDefault(REPOSITORY_FULL_NAME, "");
+    }
+
+    /**
+     * Reads the top-level {@code action} of the payload. Parsing stops as soon as the action has been found, other
+     * top-level values are skipped without being materialized.
+     *
+     * @param payload
+     *         the payload of the webhook
+     * @return the action or an empty string if the payload contains no action
+     * @throws IOException
+     *         if the payload is not a JSON object
+     */
+    static String readAction(final String payload) throws IOException {
+        try (JsonParser parser = createParser(payload)) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (ACTION.equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : "";
+                }
+                parser.skipChildren();
+            }
+        }
+
+        return "";
+    }
+
+    /**
+     * Parses the fields of the payload that are required to handle a rerun request.
+     *
+     * @param payload
+     *         the payload of the webhook
+     * @return the parsed payload
+     * @throws IOException
+     *         if the payload is not a JSON object or does not contain a check suite
+     */
+    static CheckRunEventPayload parse(final String payload) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        try (JsonParser parser = createParser(payload)) {
+            readObject(parser, "", OBJECTS, VALUES, values);
+        }
+
+        if (!values.containsKey(CHECK_SUITE)) {
+            throw new IOException("Payload does not contain a check suite");
+        }
+
+        return new CheckRunEventPayload(values);
+    }
+
+    static JsonParser createParser(final String payload) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser(payload);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            parser.close();
+            throw new IOException("Payload is not a JSON object");
+        }
+        return parser;
+    }
+
+    /**
+     * Reads the remaining fields of the current JSON object. Only the given objects are descended into and only the
+     * given scalar values are stored with their dotted path as key, everything else is skipped.
+     */
+    static void readObject(final JsonParser parser, final String prefix, final Set<String> objects,
+            final Set<String> scalars, final Map<String, String> values) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String path = prefix + parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT && objects.contains(path)) {
+                values.put(path, "");
+                readObject(parser, path + ".", objects, scalars, values);
+            }
+            else if (token.isScalarValue() && scalars.contains(path)) {
+                values.put(path, token == JsonToken.VALUE_NULL ? "" : parser.getText());
+            }
+            else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    String getAction() {
+        return action;
+    }
+
+    String getCheckRunId() {
+        return checkRunId;
+    }
+
+    String getExternalId() {
+        return externalId;
+    }
+
+    String getHeadBranch() {
+        return headBranch;
+    }
+
+    String getSenderLogin() {
+        return senderLogin;
+    }
+
+    String getRepositoryFullName() {
+        return repositoryFullName;
+    }
+}
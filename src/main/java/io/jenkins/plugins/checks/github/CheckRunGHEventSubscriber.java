@@ -1,70 +1,175 @@
 package io.jenkins.plugins.checks.github;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.commons.lang3.StringUtils;
+
 import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.kohsuke.github.GHEvent;
-import org.kohsuke.github.GHEventPayload;
-import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
 import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
 import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest2;
 import hudson.Extension;
+import hudson.XmlFile;
 import hudson.model.Action;
 import hudson.model.Cause;
 import hudson.model.CauseAction;
 import hudson.model.Item;
 import hudson.model.Job;
 import hudson.model.ParametersAction;
+import hudson.model.Queue;
 import hudson.model.Run;
 import hudson.security.ACL;
 import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.ExceptionCatchingThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
 import jenkins.model.ParameterizedJobMixIn;
+import jenkins.util.SystemProperties;
 
+import io.jenkins.plugins.checks.github.GitHubChecksTracing.TracingSpan;
 import io.jenkins.plugins.util.JenkinsFacade;
 
 /**
- * This subscriber manages {@link GHEvent#CHECK_RUN} event and handles the re-run action request.
+ * This subscriber manages {@link GHEvent#CHECK_RUN} and {@link GHEvent#CHECK_SUITE} events and handles the re-run
+ * action requests. A rerequested check suite reruns every job that has built the head commit of the suite once; these
+ * builds are found in the {@link RerunBuildIndex} of recently started runs.
+ *
+ * <p>
+ * Events are only queued when they are delivered, so that the webhook request is acknowledged right away. They are
+ * processed by a bounded pool of workers; events that do not fit into the queue are dropped and counted. Reruns of
+ * a job that is already queued with the same parameters are folded into the queued item by the {@link Queue}, since
+ * the {@link CauseAction} of the rerun is a {@link hudson.model.FoldableAction}, and the number of reruns per job is
+ * rate limited.
+ * </p>
  */
 @Extension
 public class CheckRunGHEventSubscriber extends GHEventsSubscriber {
     private static final Logger LOGGER = Logger.getLogger(CheckRunGHEventSubscriber.class.getName());
     private static final String RERUN_ACTION = "rerequested";
+    private static final String DELIVERY_HEADER = "X-GitHub-Delivery";
+    private static final int WORKERS
+            = SystemProperties.getInteger(CheckRunGHEventSubscriber.class.getName() + ".workers", 2);
+    private static final int QUEUE_CAPACITY
+            = SystemProperties.getInteger(CheckRunGHEventSubscriber.class.getName() + ".queueCapacity", 1000);
 
     private final JenkinsFacade jenkinsFacade;
     private final SCMFacade scmFacade;
+    private final Executor executor;
+    private final RerunRequestDeduplicator deduplicator;
+    private final RerunRateLimiter rateLimiter = new RerunRateLimiter();
+    private final AtomicLong droppedEvents = new AtomicLong();
 
     /**
      * Construct the subscriber.
      */
     public CheckRunGHEventSubscriber() {
-        this(new JenkinsFacade(), new SCMFacade());
+        this(new JenkinsFacade(), new SCMFacade(), createExecutor(), new RerunRequestDeduplicator(createRerunsFile()));
     }
 
+    /**
+     * Constructs the subscriber that processes events on the delivering thread.
+     */
     @VisibleForTesting
     CheckRunGHEventSubscriber(final JenkinsFacade jenkinsFacade, final SCMFacade scmFacade) {
+        this(jenkinsFacade, scmFacade, Runnable::run);
+    }
+
+    @VisibleForTesting
+    CheckRunGHEventSubscriber(final JenkinsFacade jenkinsFacade, final SCMFacade scmFacade, final Executor executor) {
+        this(jenkinsFacade, scmFacade, executor, new RerunRequestDeduplicator(null));
+    }
+
+    @VisibleForTesting
+    CheckRunGHEventSubscriber(final JenkinsFacade jenkinsFacade, final SCMFacade scmFacade, final Executor executor,
+            final RerunRequestDeduplicator deduplicator) {
         super();
 
         this.jenkinsFacade = jenkinsFacade;
         this.scmFacade = scmFacade;
+        this.executor = executor;
+        this.deduplicator = deduplicator;
+    }
+
+    @CheckForNull
+    private static XmlFile createRerunsFile() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null) {
+            return null;
+        }
+        return new XmlFile(Jenkins.XSTREAM2,
+                new File(jenkins.getRootDir(), CheckRunGHEventSubscriber.class.getName() + ".reruns.xml"));
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(WORKERS, WORKERS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                new ExceptionCatchingThreadFactory(new NamingThreadFactory(new DaemonThreadFactory(),
+                        CheckRunGHEventSubscriber.class.getSimpleName())),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Returns the number of events waiting to be processed.
+     *
+     * @return the number of queued events
+     */
+    public int getQueueDepth() {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0;
+    }
+
+    /**
+     * Returns the number of events that have been dropped since the queue was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Returns the number of duplicated rerun requests that have been ignored.
+     *
+     * @return the number of suppressed duplicates
+     */
+    public long getSuppressedDuplicates() {
+        return deduplicator.getSuppressedDuplicates();
+    }
+
+    /**
+     * Returns the number of reruns that have been rejected since too many reruns of their job have been scheduled.
+     *
+     * @return the number of rate limited reruns
+     */
+    public long getRateLimitedReruns() {
+        return rateLimiter.getLimitedReruns();
     }
 
     @Override
     protected boolean isApplicable(@CheckForNull final Item item) {
         if (item instanceof Job<?, ?>) {
-            return scmFacade.findGitHubSCMSource((Job<?, ?>) item).isPresent();
+            return GitHubRepositoryIndex.getRepository((Job<?, ?>) item, scmFacade).isPresent();
         }
 
         return false;
@@ -72,63 +177,245 @@ public class CheckRunGHEventSubscriber extends GHEventsSubscriber {
 
     @Override
     protected Set<GHEvent> events() {
-        return Set.copyOf(Collections.singletonList(GHEvent.CHECK_RUN));
+        return Set.of(GHEvent.CHECK_RUN, GHEvent.CHECK_SUITE);
     }
 
     @Override
     protected void onEvent(final GHSubscriberEvent event) {
+        onEvent(event, getDeliveryId());
+    }
+
+    /**
+     * Handles the event of the webhook delivery with the given id.
+     *
+     * @param event
+     *         the event
+     * @param deliveryId
+     *         the id of the delivery, {@code null} if unknown
+     */
+    @VisibleForTesting
+    void onEvent(final GHSubscriberEvent event, @CheckForNull final String deliveryId) {
+        GitHubChecksEvents.WebhookEvent recording = new GitHubChecksEvents.WebhookEvent();
+        recording.begin();
+        boolean queued = false;
+        try {
+            queued = enqueue(event, deliveryId);
+        }
+        finally {
+            recording.end();
+            if (recording.shouldCommit()) {
+                recording.event = String.valueOf(event.getGHEvent());
+                recording.payloadSize = event.getPayload().length();
+                recording.queued = queued;
+                recording.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the webhook delivery that is being handled. {@link GHSubscriberEvent} does not expose the
+     * headers of the delivery, but subscribers are notified while the webhook request is handled, so the header is
+     * read from the current request.
+     */
+    @CheckForNull
+    private static String getDeliveryId() {
+        StaplerRequest2 request = Stapler.getCurrentRequest2();
+        return request == null ? null : StringUtils.trimToNull(request.getHeader(DELIVERY_HEADER));
+    }
+
+    private boolean enqueue(final GHSubscriberEvent event, @CheckForNull final String deliveryId) {
         final String payload = event.getPayload();
+        if (!isRerunRequest(payload)) {
+            return false;
+        }
+
         try {
-            GHEventPayload.CheckRun checkRun = GitHub.offline().parseEventPayload(new StringReader(payload), GHEventPayload.CheckRun.class);
-            if (!RERUN_ACTION.equals(checkRun.getAction())) {
-                LOGGER.log(Level.FINE,
-                        "Unsupported check run action: " + checkRun.getAction().replaceAll("[\r\n]", ""));
-                return;
+            if (event.getGHEvent() == GHEvent.CHECK_SUITE) {
+                executor.execute(() -> process("check_suite", () -> processCheckSuiteEvent(payload, deliveryId)));
+            }
+            else {
+                executor.execute(() -> process("check_run", () -> processEvent(payload, deliveryId)));
             }
+            return true;
+        }
+        catch (RejectedExecutionException e) {
+            LOGGER.log(Level.WARNING, String.format("Dropped check run event since %d events are queued already, "
+                    + "%d events dropped in total", getQueueDepth(), droppedEvents.incrementAndGet()));
+            return false;
+        }
+    }
 
-            JSONObject payloadJSON = new JSONObject(payload);
+    /**
+     * Checks whether the payload requests a rerun by only reading its top-level action. Most check run events are
+     * echoes of check runs created or updated by this plugin and are discarded here.
+     */
+    private boolean isRerunRequest(final String payload) {
+        try {
+            String action = CheckRunEventPayload.readAction(payload);
+            if (RERUN_ACTION.equals(action)) {
+                return true;
+            }
+
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Unsupported check run action: " + action.replaceAll("[\r\n]", ""));
+            }
+            return false;
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Could not parse check run event: " + payload.replaceAll("[\r\n]", ""), e);
+        }
+    }
+
+    private void process(final String eventType, final Runnable processor) {
+        long start = System.nanoTime();
+        try (TracingSpan span = GitHubChecksTracing.start("github-checks.webhook.rerun", null)) {
+            span.setAttribute("github.event", eventType);
+            try {
+                processor.run();
+            }
+            catch (RuntimeException e) {
+                span.recordException(e);
+                throw e;
+            }
+        }
+        finally {
+            GitHubChecksStatistics.get().recordWebhook(System.nanoTime() - start);
+        }
+    }
+
+    private void processEvent(final String payload, @CheckForNull final String deliveryId) {
+        try {
+            CheckRunEventPayload checkRun = CheckRunEventPayload.parse(payload);
 
             LOGGER.log(Level.INFO, "Received rerun request through GitHub checks API.");
+            long now = System.currentTimeMillis();
+            if (isRedelivery(deliveryId, now)
+                    || !deduplicator.register(checkRun.getExternalId() + "@" + checkRun.getCheckRunId(), now)) {
+                LOGGER.log(Level.INFO, String.format("Ignored duplicated rerun request for id: %s, "
+                                + "%d duplicates suppressed in total", checkRun.getExternalId(),
+                        deduplicator.getSuppressedDuplicates()).replaceAll("[\r\n]", ""));
+                return;
+            }
+
             try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
-                String branchName = payloadJSON.getJSONObject("check_run").getJSONObject("check_suite").optString("head_branch");
-                scheduleRerun(checkRun, branchName);
+                scheduleRerun(checkRun);
             }
         }
-        catch (IOException | JSONException e) {
+        catch (IOException e) {
             throw new IllegalStateException("Could not parse check run event: " + payload.replaceAll("[\r\n]", ""), e);
         }
     }
 
-    private void scheduleRerun(final GHEventPayload.CheckRun checkRun, final String branchName) {
-        final GHRepository repository = checkRun.getRepository();
+    private boolean isRedelivery(@CheckForNull final String deliveryId, final long now) {
+        return deliveryId != null && !deduplicator.registerDelivery(deliveryId, now);
+    }
 
-        Optional<Run<?, ?>> optionalRun = jenkinsFacade.getBuild(checkRun.getCheckRun().getExternalId());
-        if (optionalRun.isPresent()) {
-            Run<?, ?> run = optionalRun.get();
-            Job<?, ?> job = run.getParent();
+    private void processCheckSuiteEvent(final String payload, @CheckForNull final String deliveryId) {
+        try {
+            CheckSuiteEventPayload checkSuite = CheckSuiteEventPayload.parse(payload);
+
+            LOGGER.log(Level.INFO, "Received check suite rerun request through GitHub checks API.");
+            // The id of a check suite is the same for each rerequest of the commit, so only redeliveries are ignored
+            if (isRedelivery(deliveryId, System.currentTimeMillis())) {
+                LOGGER.log(Level.INFO, String.format("Ignored duplicated rerun request for check suite: %s, "
+                                + "%d duplicates suppressed in total", checkSuite.getCheckSuiteId(),
+                        deduplicator.getSuppressedDuplicates()).replaceAll("[\r\n]", ""));
+                return;
+            }
 
-            Cause cause = new GitHubChecksRerunActionCause(checkRun.getSender().getLogin(), branchName);
+            try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+                scheduleReruns(checkSuite);
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Could not parse check suite event: " + payload.replaceAll("[\r\n]", ""),
+                    e);
+        }
+    }
 
-            List<Action> actions = new ArrayList<>();
-            actions.add(new CauseAction(cause));
+    private void scheduleReruns(final CheckSuiteEventPayload checkSuite) {
+        Map<Job<?, ?>, RerunBuildIndex.Entry> builds = findBuildsOfCommit(checkSuite.getApiUri(),
+                checkSuite.getRepositoryFullName(), checkSuite.getHeadSha());
+        if (builds.isEmpty()) {
+            LOGGER.log(Level.WARNING, String.format("No build found for rerun request from repository: %s and commit: %s",
+                    checkSuite.getRepositoryFullName(), checkSuite.getHeadSha()).replaceAll("[\r\n]", ""));
+            return;
+        }
 
-            ParametersAction paramAction = run.getAction(ParametersAction.class);
-            if (paramAction != null) {
-                actions.add(paramAction);
+        builds.forEach((job, entry) -> scheduleRerun(checkSuite.getSenderLogin(), checkSuite.getHeadBranch(), job,
+                entry.getParameters()));
+    }
+
+    /**
+     * Finds the latest indexed build of each job of the repository that has built the given commit. The builds are
+     * looked up in the {@link RerunBuildIndex}, so no build history is loaded.
+     */
+    private Map<Job<?, ?>, RerunBuildIndex.Entry> findBuildsOfCommit(@CheckForNull final String apiUri,
+            final String repository, final String sha) {
+        Set<Job<?, ?>> jobs = GitHubRepositoryIndex.getJobs(apiUri, repository);
+        Map<Job<?, ?>, RerunBuildIndex.Entry> builds = new LinkedHashMap<>();
+        for (RerunBuildIndex.Entry entry : RerunBuildIndex.findByCommit(sha, System.currentTimeMillis())) {
+            Job<?, ?> job = entry.getJob();
+            if (job != null && jobs.contains(job)) {
+                builds.put(job, entry);
             }
+        }
+        return builds;
+    }
 
-            ParameterizedJobMixIn.scheduleBuild2(job, -1, actions.toArray(new Action[0]));
+    private void scheduleRerun(final CheckRunEventPayload checkRun) {
+        // Recently started runs are indexed, so that the old build does not need to be loaded from disk
+        Optional<RerunBuildIndex.Entry> entry = RerunBuildIndex.find(checkRun.getExternalId(),
+                System.currentTimeMillis());
+        Job<?, ?> indexedJob = entry.map(RerunBuildIndex.Entry::getJob).orElse(null);
+        if (indexedJob != null) {
+            scheduleRerun(checkRun.getSenderLogin(), checkRun.getHeadBranch(), indexedJob,
+                    entry.get().getParameters());
+            return;
+        }
 
-            LOGGER.log(Level.INFO, String.format("Scheduled rerun (build #%d) for job %s, requested by %s",
-                    job.getNextBuildNumber(), jenkinsFacade.getFullNameOf(job),
-                    checkRun.getSender().getLogin()).replaceAll("[\r\n]", ""));
+        // Ids of other controllers or of deleted jobs are rejected before any build is loaded
+        Optional<Run<?, ?>> optionalRun = isKnownJob(checkRun.getExternalId())
+                ? jenkinsFacade.getBuild(checkRun.getExternalId()) : Optional.empty();
+        if (optionalRun.isPresent()) {
+            Run<?, ?> run = optionalRun.get();
+            scheduleRerun(checkRun.getSenderLogin(), checkRun.getHeadBranch(), run.getParent(),
+                    run.getAction(ParametersAction.class));
         }
         else {
             LOGGER.log(Level.WARNING, String.format("No build found for rerun request from repository: %s and id: %s",
-                    repository.getFullName(), checkRun.getCheckRun().getExternalId()).replaceAll("[\r\n]", ""));
+                    checkRun.getRepositoryFullName(), checkRun.getExternalId()).replaceAll("[\r\n]", ""));
         }
     }
 
+    private boolean isKnownJob(final String externalId) {
+        int separator = externalId.lastIndexOf('#');
+        return separator > 0 && jenkinsFacade.getJob(externalId.substring(0, separator)).isPresent();
+    }
+
+    private void scheduleRerun(final String sender, final String headBranch, final Job<?, ?> job,
+            @CheckForNull final ParametersAction paramAction) {
+        List<Action> actions = new ArrayList<>();
+        actions.add(new CauseAction(new GitHubChecksRerunActionCause(sender, headBranch)));
+
+        if (paramAction != null) {
+            actions.add(paramAction);
+        }
+
+        if (!rateLimiter.tryAcquire(job.getFullName(), System.currentTimeMillis())) {
+            LOGGER.log(Level.WARNING, String.format("Ignored rerun of job %s since its limit of reruns within %d "
+                            + "seconds has been reached, %d reruns rate limited in total",
+                    jenkinsFacade.getFullNameOf(job), TimeUnit.MILLISECONDS.toSeconds(rateLimiter.getWindowMillis()),
+                    rateLimiter.getLimitedReruns()).replaceAll("[\r\n]", ""));
+            return;
+        }
+
+        ParameterizedJobMixIn.scheduleBuild2(job, -1, actions.toArray(new Action[0]));
+
+        LOGGER.log(Level.INFO, String.format("Scheduled rerun (build #%d) for job %s, requested by %s",
+                job.getNextBuildNumber(), jenkinsFacade.getFullNameOf(job), sender).replaceAll("[\r\n]", ""));
+    }
+
     /**
      * Declares that a build was started due to a user's rerun request through GitHub checks API.
      */
@@ -0,0 +1,108 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * The fields of a {@code check_suite} webhook payload that are required to handle a request to rerun all checks of a
+ * suite. Like {@link CheckRunEventPayload}, the payload is read with a streaming parser in a single pass.
+ */
+final class CheckSuiteEventPayload {
+    private static final String ACTION = "action";
+    private static final String CHECK_SUITE = "check_suite";
+    private static final String CHECK_SUITE_ID = "check_suite.id";
+    private static final String HEAD_SHA = "check_suite.head_sha";
+    private static final String HEAD_BRANCH = "check_suite.head_branch";
+    private static final String SENDER = "sender";
+    private static final String SENDER_LOGIN = "sender.login";
+    private static final String REPOSITORY = "repository";
+    private static final String REPOSITORY_FULL_NAME = "repository.full_name";
+    private static final String REPOSITORY_URL = "repository.url";
+    private static final String REPOSITORY_PATH = "/repos/";
+
+    private static final Set<String> OBJECTS = Set.of(CHECK_SUITE, SENDER, REPOSITORY);
+    private static final Set<String> VALUES = Set.of(ACTION, CHECK_SUITE_ID, HEAD_SHA, HEAD_BRANCH, SENDER_LOGIN,
+            REPOSITORY_FULL_NAME, REPOSITORY_URL);
+
+    private final String action;
+    private final String checkSuiteId;
+    private final String headSha;
+    private final String headBranch;
+    private final String senderLogin;
+    private final String repositoryFullName;
+    private final String repositoryUrl;
+
+    private CheckSuiteEventPayload(final Map<String, String> values) {
+        this.action = values.getOrDefault(ACTION, "");
+        this.checkSuiteId = values.getOrDefault(CHECK_SUITE_ID, "");
+        this.headSha = values.getOrDefault(HEAD_SHA, "");
+        this.headBranch = values.getOrDefault(HEAD_BRANCH, "");
+        this.senderLogin = values.getOrDefault(SENDER_LOGIN, "");
+        this.repositoryFullName = values.getOrDefault(REPOSITORY_FULL_NAME, "");
+        this.repositoryUrl = values.getOrDefault(REPOSITORY_URL, "");
+    }
+
+    /**
+     * Parses the fields of the payload that are required to rerun the builds of a check suite.
+     *
+     * @param payload
+     *         the payload of the webhook
+     * @return the parsed payload
+     * @throws IOException
+     *         if the payload is not a JSON object or does not contain the head SHA of the check suite
+     */
+    static CheckSuiteEventPayload parse(final String payload) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        try (JsonParser parser = CheckRunEventPayload.createParser(payload)) {
+            CheckRunEventPayload.readObject(parser, "", OBJECTS, VALUES, values);
+        }
+
+        if (values.getOrDefault(HEAD_SHA, "").isEmpty()) {
+            throw new IOException("Payload does not contain the head SHA of a check suite");
+        }
+
+        return new CheckSuiteEventPayload(values);
+    }
+
+    String getAction() {
+        return action;
+    }
+
+    String getCheckSuiteId() {
+        return checkSuiteId;
+    }
+
+    String getHeadSha() {
+        return headSha;
+    }
+
+    String getHeadBranch() {
+        return headBranch;
+    }
+
+    String getSenderLogin() {
+        return senderLogin;
+    }
+
+    String getRepositoryFullName() {
+        return repositoryFullName;
+    }
+
+    /**
+     * Returns the API URI of the GitHub server of the repository, e.g. https://github.example.com/api/v3 for a
+     * repository with the API URL https://github.example.com/api/v3/repos/owner/repository.
+     *
+     * @return the API URI or {@code null} if the payload does not contain the API URL of the repository
+     */
+    @CheckForNull
+    String getApiUri() {
+        int index = repositoryUrl.lastIndexOf(REPOSITORY_PATH);
+        return index > 0 ? repositoryUrl.substring(0, index) : null;
+    }
+}
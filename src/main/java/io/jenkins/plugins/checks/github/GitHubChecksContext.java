@@ -1,6 +1,9 @@
 package io.jenkins.plugins.checks.github;
 
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
 import org.apache.commons.lang3.StringUtils;
@@ -8,13 +11,18 @@ import org.apache.commons.lang3.StringUtils;
 import edu.hm.hafner.util.FilteredLog;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 
+import hudson.Extension;
 import hudson.model.Job;
 import hudson.model.Run;
+import hudson.model.listeners.RunListener;
 
 /**
  * Base class for a context that publishes GitHub checks.
  */
 public abstract class GitHubChecksContext {
+    private static final Set<Run<?, ?>> DISCOVERED_RUNS = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
     private final Job<?, ?> job;
     private final String url;
     private final SCMFacade scmFacade;
@@ -52,6 +60,16 @@ public abstract class GitHubChecksContext {
     @CheckForNull
     protected abstract String getCredentialsId();
 
+    /**
+     * Returns the API URI of the GitHub server hosting the repository, if it can be derived from the context, e.g.
+     * for a GitHub Enterprise server.
+     *
+     * @return the API URI or empty if the default should be used
+     */
+    public Optional<String> getApiUri() {
+        return Optional.empty();
+    }
+
     /**
      * Returns the credentials to access the remote GitHub repository.
      *
@@ -109,7 +127,18 @@ public abstract class GitHubChecksContext {
     }
 
     private Optional<StandardUsernameCredentials> findGitHubAppCredentials(final String credentialsId) {
-        return getScmFacade().findGitHubAppCredentials(getJob(), credentialsId);
+        GitHubChecksEvents.CredentialsLookup event = new GitHubChecksEvents.CredentialsLookup();
+        event.begin();
+        Optional<StandardUsernameCredentials> credentials = getScmFacade().findGitHubAppCredentials(getJob(),
+                credentialsId);
+        event.end();
+        if (event.shouldCommit()) {
+            event.job = getJob().getFullName();
+            event.credentialsId = credentialsId;
+            event.found = credentials.isPresent();
+            event.commit();
+        }
+        return credentials;
     }
 
     /**
@@ -135,6 +164,23 @@ public abstract class GitHubChecksContext {
                 .findFirst();
     }
 
+    /**
+     * Returns whether the check runs that already exist on GitHub for this run should be looked up. This is only the
+     * case once per run, only for runs that have been loaded from disk (e.g. a build resumed after a restart), and
+     * only if no {@link GitHubChecksAction} has been recorded yet, e.g. because the restart happened in the middle of
+     * publishing or the build record could not be saved. Runs started by this Jenkins instance cannot have published
+     * checks that were not recorded, so they are never looked up.
+     *
+     * @return whether existing check runs should be discovered
+     */
+    boolean shouldDiscoverExistingChecks() {
+        if (getRun().isEmpty()) {
+            return false;
+        }
+        Run<?, ?> run = getRun().get();
+        return run.getActions(GitHubChecksAction.class).isEmpty() && DISCOVERED_RUNS.add(run);
+    }
+
     void addActionIfMissing(final long id, final String name) {
         if (getRun().isEmpty()) {
             return;
@@ -144,4 +190,15 @@ public abstract class GitHubChecksContext {
             getRun().get().addAction(new GitHubChecksAction(id, name));
         }
     }
+
+    /**
+     * Skips the discovery of existing check runs for the runs started by this Jenkins instance.
+     */
+    @Extension
+    public static class NewRunListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onInitialize(final Run<?, ?> run) {
+            DISCOVERED_RUNS.add(run);
+        }
+    }
 }
@@ -0,0 +1,206 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.Extension;
+import hudson.Functions;
+import hudson.model.Action;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+
+import io.jenkins.plugins.checks.api.ChecksAnnotation;
+import io.jenkins.plugins.checks.api.ChecksDetails;
+import io.jenkins.plugins.checks.api.ChecksOutput;
+import io.jenkins.plugins.util.PluginLogger;
+
+/**
+ * Records the cost of publishing GitHub checks for a run: the number of GitHub API requests, the approximate number
+ * of bytes sent, the number of uploaded annotations, and the time spent publishing. The totals are shown on the run
+ * page and printed to the console log when the run completes. When the run is finalized, i.e. after the checks of the
+ * completed run have been published, the run is saved with the final totals.
+ */
+public class GitHubChecksCostAction implements Action {
+    private static final Logger LOGGER = Logger.getLogger(GitHubChecksCostAction.class.getName());
+    private static final Object ATTACH_LOCK = new Object();
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicInteger annotations = new AtomicInteger();
+    private final AtomicLong publishNanos = new AtomicLong();
+
+    /**
+     * Returns the action of the run, the action is created and attached to the run if it does not exist yet.
+     *
+     * @param run
+     *         the run
+     * @return the action of the run
+     */
+    static GitHubChecksCostAction of(final Run<?, ?> run) {
+        GitHubChecksCostAction action = run.getAction(GitHubChecksCostAction.class);
+        if (action != null) {
+            return action;
+        }
+
+        // Only attaching is serialized, so that concurrent publishes do not count into different actions
+        synchronized (ATTACH_LOCK) {
+            action = run.getAction(GitHubChecksCostAction.class);
+            if (action == null) {
+                action = new GitHubChecksCostAction();
+                run.addAction(action);
+            }
+            return action;
+        }
+    }
+
+    void addRequest() {
+        requests.incrementAndGet();
+    }
+
+    void addPublish(final ChecksDetails details, final long durationNanos) {
+        bytesSent.addAndGet(estimatePayloadBytes(details));
+        annotations.addAndGet(details.getOutput().map(output -> output.getChecksAnnotations().size()).orElse(0));
+        publishNanos.addAndGet(durationNanos);
+    }
+
+    void addPublishTime(final long durationNanos) {
+        publishNanos.addAndGet(durationNanos);
+    }
+
+    /**
+     * Estimates the size of the request body sent for the details. Only the text content is taken into account, the
+     * JSON structure around it is ignored.
+     */
+    static long estimatePayloadBytes(final ChecksDetails details) {
+        long bytes = utf8Length(details.getName().orElse(""))
+                + utf8Length(details.getDetailsURL().orElse(""));
+        if (details.getOutput().isPresent()) {
+            ChecksOutput output = details.getOutput().get();
+            bytes += utf8Length(output.getTitle().orElse(""))
+                    + utf8Length(output.getSummary(GitHubChecksDetails.MAX_MESSAGE_SIZE_TO_CHECKS_API).orElse(""))
+                    + utf8Length(output.getText(GitHubChecksDetails.MAX_MESSAGE_SIZE_TO_CHECKS_API).orElse(""));
+            for (ChecksAnnotation annotation : output.getChecksAnnotations()) {
+                bytes += utf8Length(annotation.getPath().orElse(""))
+                        + utf8Length(annotation.getMessage().orElse(""))
+                        + utf8Length(annotation.getTitle().orElse(""))
+                        + utf8Length(annotation.getRawDetails().orElse(""));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Counts the UTF-8 encoded length of the text without encoding it, since the summary and text of a check may be
+     * up to 65 535 characters long. Unpaired surrogates are counted like the replacement character they encode to.
+     */
+    static long utf8Length(final String text) {
+        long length = 0;
+        int size = text.length();
+        for (int i = 0; i < size; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            }
+            else if (c < 0x800) {
+                length += 2;
+            }
+            else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            }
+            else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Returns the approximate number of bytes sent in a human readable format.
+     *
+     * @return the formatted number of bytes
+     */
+    public String getBytesSentDisplay() {
+        return Functions.humanReadableByteSize(getBytesSent());
+    }
+
+    public int getAnnotations() {
+        return annotations.get();
+    }
+
+    public long getPublishMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(publishNanos.get());
+    }
+
+    /**
+     * Returns a one-line summary of the cost.
+     *
+     * @return the summary
+     */
+    public String getSummary() {
+        return String.format("%d API request(s), ~%s sent, %d annotation(s), %d ms spent publishing",
+                getRequests(), getBytesSentDisplay(), getAnnotations(), getPublishMillis());
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "GitHub Checks Cost";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+    /**
+     * Prints the cost of publishing to the console log when a run completes, and saves it with the run when the run
+     * is finalized. The checks of a completed run are published while the run completes, so only then the totals are
+     * final; the console log of the run is closed by then.
+     */
+    @Extension
+    public static class CostSummaryRunListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(final Run<?, ?> run, final TaskListener listener) {
+            GitHubChecksCostAction action = run.getAction(GitHubChecksCostAction.class);
+            if (action != null) {
+                new PluginLogger(listener.getLogger(), "GitHub Checks").log("%s", action.getSummary());
+            }
+        }
+
+        @Override
+        public void onFinalized(final Run<?, ?> run) {
+            if (run.getAction(GitHubChecksCostAction.class) == null) {
+                return;
+            }
+
+            try {
+                run.save();
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not save the GitHub checks cost of " + run, e);
+            }
+        }
+    }
+}
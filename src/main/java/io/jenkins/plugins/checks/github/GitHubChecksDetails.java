@@ -34,7 +34,7 @@ import io.jenkins.plugins.checks.api.ChecksStatus;
 class GitHubChecksDetails {
     private final ChecksDetails details;
 
-    private static final int MAX_MESSAGE_SIZE_TO_CHECKS_API = 65_535;
+    static final int MAX_MESSAGE_SIZE_TO_CHECKS_API = 65_535;
 
     /**
      * Construct with the given {@link ChecksDetails}.
@@ -0,0 +1,110 @@
+package io.jenkins.plugins.checks.github;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events emitted by this plugin. The duration of an event is the time between {@code begin()} and
+ * {@code end()}. Callers only fill in the fields if {@code shouldCommit()} returns {@code true}, so the overhead is
+ * negligible when no recording is running.
+ */
+final class GitHubChecksEvents {
+    private static final String CATEGORY = "GitHub Checks";
+
+    private GitHubChecksEvents() {
+        // prevents instantiation
+    }
+
+    @Name("io.jenkins.plugins.checks.github.PublisherCreation")
+    @Label("Publisher Creation")
+    @Description("Creation of a GitHub checks publisher by the publisher factory")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    static final class PublisherCreation extends Event {
+        @Label("Job")
+        String job;
+
+        @Label("Repository")
+        String repository;
+
+        @Label("Created")
+        boolean created;
+    }
+
+    @Name("io.jenkins.plugins.checks.github.ContextValidation")
+    @Label("Context Validation")
+    @Description("Validation of a GitHub checks context")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    static final class ContextValidation extends Event {
+        @Label("Context")
+        String context;
+
+        @Label("Job")
+        String job;
+
+        @Label("Valid")
+        boolean valid;
+    }
+
+    @Name("io.jenkins.plugins.checks.github.CredentialsLookup")
+    @Label("Credentials Lookup")
+    @Description("Lookup of the GitHub App credentials of a job")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    static final class CredentialsLookup extends Event {
+        @Label("Job")
+        String job;
+
+        @Label("Credentials ID")
+        String credentialsId;
+
+        @Label("Found")
+        boolean found;
+    }
+
+    @Name("io.jenkins.plugins.checks.github.CheckRunRequest")
+    @Label("Check Run Request")
+    @Description("HTTP request to the GitHub checks API")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    static final class CheckRunRequest extends Event {
+        @Label("Repository")
+        String repository;
+
+        @Label("Check Name")
+        String checkName;
+
+        @Label("Endpoint")
+        String endpoint;
+
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+
+        @Label("Successful")
+        boolean successful;
+    }
+
+    @Name("io.jenkins.plugins.checks.github.WebhookEvent")
+    @Label("Webhook Event")
+    @Description("Delivery of a check run or check suite webhook event")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    static final class WebhookEvent extends Event {
+        @Label("Event")
+        String event;
+
+        @Label("Payload Size")
+        @DataAmount
+        long payloadSize;
+
+        @Label("Queued")
+        boolean queued;
+    }
+}
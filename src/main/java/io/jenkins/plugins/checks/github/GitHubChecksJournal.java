@@ -0,0 +1,115 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.sf.json.JSONObject;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * An append-only journal of the publish attempts of a run, stored as JSON lines in the build directory. If the journal
+ * exceeds its maximum size, it is rotated: the current file replaces the previous one and a new file is started.
+ * Thus, at most twice the maximum size is kept per run. Access to the files is only serialized per journal, so that
+ * runs do not wait for the journals of other runs.
+ */
+final class GitHubChecksJournal {
+    static final String FILE_NAME = "github-checks-journal.jsonl";
+    private static final String ROTATED_FILE_NAME = FILE_NAME + ".1";
+    private static final long MAX_BYTES = SystemProperties.getLong(GitHubChecksJournal.class.getName() + ".maxBytes",
+            1024L * 1024L);
+    private static final Logger LOGGER = Logger.getLogger(GitHubChecksJournal.class.getName());
+
+    // Striped rather than one lock per journal, so that the locks of finished runs do not pile up
+    private static final Object[] LOCKS = new Object[64];
+
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    private final File file;
+    private final Object lock;
+    private final File rotatedFile;
+    private final long maxBytes;
+
+    GitHubChecksJournal(final File directory) {
+        this(directory, MAX_BYTES);
+    }
+
+    GitHubChecksJournal(final File directory, final long maxBytes) {
+        this.file = new File(directory, FILE_NAME);
+        this.rotatedFile = new File(directory, ROTATED_FILE_NAME);
+        this.maxBytes = maxBytes;
+        this.lock = LOCKS[Math.floorMod(file.getAbsolutePath().hashCode(), LOCKS.length)];
+    }
+
+    /**
+     * Appends an entry to the journal. Failures to write the journal are logged but do not affect publishing.
+     *
+     * @param entry
+     *         the entry to append
+     */
+    void append(final JSONObject entry) {
+        byte[] line = (entry.toString() + "\n").getBytes(StandardCharsets.UTF_8);
+
+        synchronized (lock) {
+            try {
+                if (file.exists() && file.length() + line.length > maxBytes) {
+                    Files.move(file.toPath(), rotatedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.write(file.toPath(), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not write GitHub checks journal " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the entries of the journal, the oldest entry first.
+     *
+     * @return the entries as JSON strings
+     * @throws IOException
+     *         if the journal could not be read
+     */
+    List<String> readEntries() throws IOException {
+        List<String> entries = new ArrayList<>();
+        synchronized (lock) {
+            for (File journal : new File[] {rotatedFile, file}) {
+                if (journal.exists()) {
+                    entries.addAll(Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the journal to the stream, the oldest entry first.
+     *
+     * @param out
+     *         the stream to write to
+     * @throws IOException
+     *         if the journal could not be read or written
+     */
+    void writeTo(final OutputStream out) throws IOException {
+        synchronized (lock) {
+            for (File journal : new File[] {rotatedFile, file}) {
+                if (journal.exists()) {
+                    Files.copy(journal.toPath(), out);
+                }
+            }
+        }
+    }
+}
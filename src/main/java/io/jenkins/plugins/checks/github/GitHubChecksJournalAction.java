@@ -0,0 +1,95 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.IOException;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import net.sf.json.JSONObject;
+
+import org.kohsuke.stapler.StaplerResponse2;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+
+/**
+ * Shows the {@link GitHubChecksJournal} of a run on the build page and offers it for download.
+ */
+public class GitHubChecksJournalAction implements RunAction2 {
+    private transient Run<?, ?> run;
+
+    /**
+     * Returns the action of the run, the action is created and attached to the run if it does not exist yet.
+     *
+     * @param run
+     *         the run
+     * @return the action of the run
+     */
+    static GitHubChecksJournalAction of(final Run<?, ?> run) {
+        GitHubChecksJournalAction action = run.getAction(GitHubChecksJournalAction.class);
+        if (action == null) {
+            // The action has no state of its own, so it does not matter which one wins a concurrent replacement
+            action = new GitHubChecksJournalAction();
+            run.addOrReplaceAction(action);
+        }
+        return action;
+    }
+
+    @Override
+    public void onAttached(final Run<?, ?> r) {
+        this.run = r;
+    }
+
+    @Override
+    public void onLoad(final Run<?, ?> r) {
+        this.run = r;
+    }
+
+    public Run<?, ?> getRun() {
+        return run;
+    }
+
+    private GitHubChecksJournal getJournal() {
+        return new GitHubChecksJournal(run.getRootDir());
+    }
+
+    /**
+     * Returns the entries of the journal, the oldest entry first.
+     *
+     * @return the entries
+     * @throws IOException
+     *         if the journal could not be read
+     */
+    public List<JSONObject> getEntries() throws IOException {
+        return getJournal().readEntries().stream().map(JSONObject::fromObject).toList();
+    }
+
+    /**
+     * Downloads the journal as JSON lines.
+     *
+     * @param rsp
+     *         the response
+     * @throws IOException
+     *         if the journal could not be read or written
+     */
+    public void doDownload(final StaplerResponse2 rsp) throws IOException {
+        rsp.setContentType("application/x-ndjson;charset=UTF-8");
+        rsp.setHeader("Content-Disposition", "attachment; filename=" + GitHubChecksJournal.FILE_NAME);
+        getJournal().writeTo(rsp.getOutputStream());
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return "symbol-document-text";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "GitHub Checks Journal";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "github-checks-journal";
+    }
+}
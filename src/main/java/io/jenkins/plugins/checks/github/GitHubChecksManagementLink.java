@@ -0,0 +1,121 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.verb.GET;
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import hudson.security.Permission;
+import jenkins.model.Jenkins;
+
+import io.jenkins.plugins.checks.github.GitHubChecksStatistics.Failure;
+import io.jenkins.plugins.checks.github.GitHubChecksStatistics.RateLimit;
+
+/**
+ * Shows the rate limits of the GitHub App installations, the checks that are being published per repository, the
+ * recent failures, and the publishing latency on the Manage Jenkins page. The same data is available as JSON at
+ * {@code manage/github-checks/json}.
+ */
+@Extension
+public class GitHubChecksManagementLink extends ManagementLink {
+    private final GitHubChecksStatistics statistics;
+
+    /**
+     * Creates the management link for the statistics of this Jenkins instance.
+     */
+    public GitHubChecksManagementLink() {
+        this(GitHubChecksStatistics.get());
+    }
+
+    GitHubChecksManagementLink(final GitHubChecksStatistics statistics) {
+        super();
+
+        this.statistics = statistics;
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return "symbol-analytics";
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "GitHub Checks";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Rate limits of GitHub App installations, publishing backlog, recent failures, and latency.";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return "github-checks";
+    }
+
+    @NonNull
+    @Override
+    public Category getCategory() {
+        return Category.STATUS;
+    }
+
+    @NonNull
+    @Override
+    public Permission getRequiredPermission() {
+        return Jenkins.ADMINISTER;
+    }
+
+    public GitHubChecksStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics as JSON.
+     *
+     * @return the statistics
+     */
+    @GET
+    public HttpResponse doJson() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        return HttpResponses.okJSON(toJson());
+    }
+
+    JSONObject toJson() {
+        JSONObject rateLimits = new JSONObject();
+        for (Map.Entry<String, RateLimit> entry : statistics.getRateLimits().entrySet()) {
+            rateLimits.put(entry.getKey(), new JSONObject()
+                    .element("remaining", entry.getValue().getRemaining())
+                    .element("limit", entry.getValue().getLimit())
+                    .element("reset", entry.getValue().getReset().getTime()));
+        }
+
+        JSONArray failures = new JSONArray();
+        for (Failure failure : statistics.getRecentFailures()) {
+            failures.add(new JSONObject()
+                    .element("timestamp", failure.getTimestamp().getTime())
+                    .element("repository", failure.getRepository())
+                    .element("checkName", failure.getCheckName())
+                    .element("message", failure.getMessage()));
+        }
+
+        return new JSONObject()
+                .element("rateLimits", rateLimits)
+                .element("backlog", JSONObject.fromObject(statistics.getInFlightPublishes()))
+                .element("recentFailures", failures)
+                .element("latency", new JSONObject()
+                        .element("p50", statistics.getPublishLatencyMillis(50))
+                        .element("p99", statistics.getPublishLatencyMillis(99)));
+    }
+}
@@ -0,0 +1,60 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
+import hudson.Extension;
+import hudson.ExtensionList;
+import jenkins.metrics.api.Metrics;
+
+/**
+ * Exposes the {@link GitHubChecksStatistics} as timers, meters, and gauges of the metrics plugin. This extension is
+ * optional and only loaded if the metrics plugin is installed.
+ */
+@Extension(optional = true)
+public class GitHubChecksMetrics extends GitHubChecksStatistics.Listener {
+    private static final String PREFIX = "github-checks";
+
+    /**
+     * Creates the metrics and registers the gauges that are not bound to a single event.
+     */
+    public GitHubChecksMetrics() {
+        super();
+
+        Metrics.metricRegistry().gauge(MetricRegistry.name(PREFIX, "webhook", "queue-depth"),
+                () -> (Gauge<Integer>) GitHubChecksMetrics::getQueueDepth);
+    }
+
+    @Override
+    public void onPublished(final GitHubChecksStatistics.Outcome outcome, final long durationNanos) {
+        Metrics.metricRegistry().timer(MetricRegistry.name(PREFIX, "publish", outcome.name().toLowerCase(Locale.ROOT)))
+                .update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onApiCall(final String endpoint) {
+        Metrics.metricRegistry().meter(MetricRegistry.name(PREFIX, "api", endpoint)).mark();
+    }
+
+    @Override
+    public void onInstallationAdded(final String installation) {
+        Metrics.metricRegistry().gauge(MetricRegistry.name(PREFIX, "rate-limit", "remaining", installation),
+                () -> (Gauge<Integer>) () -> GitHubChecksStatistics.get().getRateLimitRemaining().get(installation));
+    }
+
+    @Override
+    public void onWebhookHandled(final long durationNanos) {
+        Metrics.metricRegistry().timer(MetricRegistry.name(PREFIX, "webhook", "handling"))
+                .update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static int getQueueDepth() {
+        CheckRunGHEventSubscriber subscriber = ExtensionList.lookup(GHEventsSubscriber.class)
+                .get(CheckRunGHEventSubscriber.class);
+        return subscriber == null ? 0 : subscriber.getQueueDepth();
+    }
+}
@@ -3,22 +3,37 @@ package io.jenkins.plugins.checks.github;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
 import org.apache.commons.lang3.StringUtils;
 
 import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import net.sf.json.JSONObject;
 
 import org.kohsuke.github.GHCheckRun;
 import org.kohsuke.github.GHCheckRunBuilder;
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
 import org.jenkinsci.plugins.github_branch_source.Connector;
 import org.jenkinsci.plugins.github_branch_source.GitHubAppCredentials;
+import hudson.model.Run;
 
 import io.jenkins.plugins.checks.api.ChecksDetails;
 import io.jenkins.plugins.checks.api.ChecksPublisher;
+import io.jenkins.plugins.checks.github.GitHubChecksStatistics.Outcome;
+import io.jenkins.plugins.checks.github.GitHubChecksTracing.TracingSpan;
 import io.jenkins.plugins.util.PluginLogger;
 
 import static java.lang.String.*;
@@ -27,12 +42,15 @@ import static java.lang.String.*;
  * A publisher which publishes GitHub check runs.
  */
 public class GitHubChecksPublisher extends ChecksPublisher {
-    private static final String GITHUB_URL = "https://api.github.com";
+    static final String GITHUB_URL = "https://api.github.com";
+    private static final String CREATE_ENDPOINT = "check-runs.create";
+    private static final String UPDATE_ENDPOINT = "check-runs.update";
     private static final Logger SYSTEM_LOGGER = Logger.getLogger(GitHubChecksPublisher.class.getName());
 
     private final GitHubChecksContext context;
     private final PluginLogger buildLogger;
     private final String gitHubUrl;
+    private final boolean publishJournal;
 
     /**
      * Creates a new instance of GitHubChecksPublisher.
@@ -47,11 +65,17 @@ public class GitHubChecksPublisher extends ChecksPublisher {
     }
 
     GitHubChecksPublisher(final GitHubChecksContext context, final PluginLogger buildLogger, final String gitHubUrl) {
+        this(context, buildLogger, gitHubUrl, false);
+    }
+
+    GitHubChecksPublisher(final GitHubChecksContext context, final PluginLogger buildLogger, final String gitHubUrl,
+            final boolean publishJournal) {
         super();
 
         this.context = context;
         this.buildLogger = buildLogger;
         this.gitHubUrl = gitHubUrl;
+        this.publishJournal = publishJournal;
     }
 
     /**
@@ -61,6 +85,19 @@ public class GitHubChecksPublisher extends ChecksPublisher {
      */
     @Override
     public void publish(final ChecksDetails details) {
+        String repository = context.getRepository();
+        GitHubChecksStatistics.get().startPublish(repository);
+        try (TracingSpan span = startSpan("github-checks.publish", repository, details)) {
+            publish(details, repository, span);
+        }
+        finally {
+            GitHubChecksStatistics.get().finishPublish(repository);
+        }
+    }
+
+    private void publish(final ChecksDetails details, final String repository, final TracingSpan span) {
+        long start = System.nanoTime();
+        String endpoint = null;
         try {
             final var credentials = context.getCredentials();
 
@@ -70,6 +107,7 @@ public class GitHubChecksPublisher extends ChecksPublisher {
                 case "VaultUsernamePasswordCredentialImpl":
                     break;
                 default:
+                    recordPublish(Outcome.SKIPPED, start, details, null, null);
                     return;
             }
 
@@ -78,52 +116,250 @@ public class GitHubChecksPublisher extends ChecksPublisher {
                 apiUri = ((GitHubAppCredentials) credentials).getApiUri();
             }
 
-            GitHub gitHub = Connector.connect(StringUtils.defaultIfBlank(apiUri, gitHubUrl),
+            GitHub gitHub = connect(StringUtils.defaultIfBlank(apiUri, context.getApiUri().orElse(gitHubUrl)),
                 credentials);
 
             GitHubChecksDetails gitHubDetails = new GitHubChecksDetails(details);
 
-            Optional<Long> existingId = context.getId(gitHubDetails.getName());
+            Optional<Long> existingId = findExistingId(gitHub, credentials, gitHubDetails.getName());
 
             final GHCheckRun run;
 
             if (existingId.isPresent()) {
-                run = getUpdater(gitHub, gitHubDetails, existingId.get()).create();
+                endpoint = UPDATE_ENDPOINT;
+                run = send(getUpdater(gitHub, gitHubDetails, existingId.get()), endpoint, details);
             }
             else {
-                run = getCreator(gitHub, gitHubDetails).create();
+                endpoint = CREATE_ENDPOINT;
+                run = send(getCreator(gitHub, gitHubDetails), endpoint, details);
             }
+            recordRateLimit(gitHub, credentials);
 
             context.addActionIfMissing(run.getId(), gitHubDetails.getName());
 
             buildLogger.log("GitHub check (name: %s, status: %s) has been published.", gitHubDetails.getName(),
                     gitHubDetails.getStatus());
-            SYSTEM_LOGGER.fine(format("Published check for repo: %s, sha: %s, job name: %s, name: %s, status: %s",
-                    context.getRepository(),
-                    context.getHeadSha(),
-                    context.getJob().getFullName(),
-                    gitHubDetails.getName(),
-                    gitHubDetails.getStatus()).replaceAll("[\r\n]", ""));
+            if (SYSTEM_LOGGER.isLoggable(Level.FINE)) {
+                SYSTEM_LOGGER.fine(removeLineBreaks(format(
+                        "Published check for repo: %s, sha: %s, job name: %s, name: %s, status: %s",
+                        context.getRepository(),
+                        context.getHeadSha(),
+                        context.getJob().getFullName(),
+                        gitHubDetails.getName(),
+                        gitHubDetails.getStatus())));
+            }
+            recordPublish(Outcome.SUCCESS, start, details, endpoint, null);
         }
         catch (IOException e) {
             String message = "Failed Publishing GitHub checks: ";
-            SYSTEM_LOGGER.log(Level.WARNING, (message + details).replaceAll("[\r\n]", ""), e);
+            SYSTEM_LOGGER.log(Level.WARNING, removeLineBreaks(message + details), e);
             buildLogger.log("%s", message + e);
+            GitHubChecksStatistics.get().recordFailure(repository, details.getName().orElse(""), e.toString());
+            span.recordException(e);
+            recordPublish(Outcome.FAILURE, start, details, endpoint, e);
+        }
+        catch (RuntimeException e) {
+            // e.g. invalid credentials or an unresolvable SCM: count the failure but let the caller handle it
+            GitHubChecksStatistics.get().recordFailure(repository, details.getName().orElse(""), e.toString());
+            span.recordException(e);
+            recordPublish(Outcome.FAILURE, start, details, endpoint, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Records the outcome of publishing in the statistics, adds its cost to the {@link GitHubChecksCostAction} of
+     * the run, and appends it to the {@link GitHubChecksJournal} of the run if enabled. Skipped checks do not cause
+     * any GitHub API request, so they are not part of the cost.
+     */
+    private void recordPublish(final Outcome outcome, final long start, final ChecksDetails details,
+            @CheckForNull final String endpoint, @CheckForNull final Exception failure) {
+        long duration = System.nanoTime() - start;
+        GitHubChecksStatistics.get().recordPublish(outcome, duration);
+
+        if (outcome == Outcome.SUCCESS) {
+            context.getRun().ifPresent(r -> GitHubChecksCostAction.of(r).addPublish(details, duration));
+        }
+        else if (outcome == Outcome.FAILURE) {
+            context.getRun().ifPresent(r -> GitHubChecksCostAction.of(r).addPublishTime(duration));
+        }
+
+        if (publishJournal) {
+            context.getRun().ifPresent(r -> appendToJournal(r, outcome, duration, details, endpoint, failure));
         }
     }
 
+    private void appendToJournal(final Run<?, ?> run, final Outcome outcome, final long duration,
+            final ChecksDetails details, @CheckForNull final String endpoint, @CheckForNull final Exception failure) {
+        long finished = System.currentTimeMillis();
+        long latency = TimeUnit.NANOSECONDS.toMillis(duration);
+
+        JSONObject entry = new JSONObject()
+                .element("startedAt", Instant.ofEpochMilli(finished - latency).toString())
+                .element("finishedAt", Instant.ofEpochMilli(finished).toString())
+                .element("name", details.getName().orElse(""))
+                .element("status", details.getStatus().toString())
+                .element("conclusion", details.getConclusion().toString())
+                .element("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .element("request", Objects.toString(endpoint, ""))
+                .element("payloadBytes", endpoint == null ? 0 : GitHubChecksCostAction.estimatePayloadBytes(details))
+                .element("latencyMillis", latency);
+        if (failure instanceof HttpException) {
+            entry.element("httpStatus", ((HttpException) failure).getResponseCode());
+        }
+        if (failure != null) {
+            entry.element("error", failure.toString());
+        }
+
+        new GitHubChecksJournal(run.getRootDir()).append(entry);
+        GitHubChecksJournalAction.of(run);
+    }
+
+    private GHCheckRun send(final GHCheckRunBuilder builder, final String endpoint, final ChecksDetails details)
+            throws IOException {
+        recordApiCall(endpoint);
+
+        GitHubChecksEvents.CheckRunRequest event = new GitHubChecksEvents.CheckRunRequest();
+        event.begin();
+        boolean successful = false;
+        try (TracingSpan span = startSpan("github-checks." + endpoint, context.getRepository(), details)) {
+            try {
+                GHCheckRun run = builder.create();
+                successful = true;
+                return run;
+            }
+            catch (IOException e) {
+                if (e instanceof HttpException) {
+                    span.setAttribute("http.response.status_code", ((HttpException) e).getResponseCode());
+                }
+                span.recordException(e);
+                throw e;
+            }
+        }
+        finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = context.getRepository();
+                event.checkName = details.getName().orElse("");
+                event.endpoint = endpoint;
+                event.payloadSize = GitHubChecksCostAction.estimatePayloadBytes(details);
+                event.successful = successful;
+                event.commit();
+            }
+        }
+    }
+
+    private TracingSpan startSpan(final String name, final String repository, final ChecksDetails details) {
+        return GitHubChecksTracing.start(name, context.getRun().orElse(null))
+                .setAttribute("github.repository", repository)
+                .setAttribute("github.check.name", details.getName().orElse(""))
+                .setAttribute("github.check.status", details.getStatus().toString())
+                .setAttribute("github.check.annotations",
+                        details.getOutput().map(output -> output.getChecksAnnotations().size()).orElse(0));
+    }
+
+    private void recordApiCall(final String endpoint) {
+        GitHubChecksStatistics.get().recordApiCall(endpoint);
+        context.getRun().ifPresent(r -> GitHubChecksCostAction.of(r).addRequest());
+    }
+
+    /**
+     * Records the remaining requests of the rate limit reported by the last response, per GitHub App installation.
+     */
+    private void recordRateLimit(final GitHub gitHub, final StandardUsernameCredentials credentials) {
+        GHRateLimit rateLimit = gitHub.lastRateLimit();
+        if (rateLimit == null) {
+            return;
+        }
+
+        String installation;
+        if (credentials instanceof GitHubAppCredentials) {
+            GitHubAppCredentials appCredentials = (GitHubAppCredentials) credentials;
+            installation = appCredentials.getAppID() + "/" + StringUtils.defaultIfBlank(appCredentials.getOwner(),
+                    StringUtils.substringBefore(context.getRepository(), "/"));
+        }
+        else {
+            installation = credentials.getId();
+        }
+
+        GHRateLimit.Record core = rateLimit.getCore();
+        GitHubChecksStatistics.get().recordRateLimit(installation, core.getRemaining(), core.getLimit(),
+                core.getResetDate());
+    }
+
+    private GHRepository getRepository(final GitHub gitHub) throws IOException {
+        recordApiCall("repository");
+        return gitHub.getRepository(context.getRepository());
+    }
+
+    private Optional<Long> findExistingId(final GitHub gitHub, final StandardUsernameCredentials credentials,
+            final String name) {
+        if (context.shouldDiscoverExistingChecks()) {
+            discoverExistingChecks(gitHub, credentials);
+        }
+
+        return context.getId(name);
+    }
+
+    /**
+     * Lists the check runs of our GitHub App for the head SHA and records those created by this run, so that they
+     * are updated rather than duplicated when the {@link GitHubChecksAction}s of the run have been lost.
+     */
+    private void discoverExistingChecks(final GitHub gitHub, final StandardUsernameCredentials credentials) {
+        Map<String, Object> filter = new HashMap<>();
+        if (credentials instanceof GitHubAppCredentials) {
+            filter.put("app_id", ((GitHubAppCredentials) credentials).getAppID());
+        }
+        String externalId = context.getRun().map(Run::getExternalizableId).orElse(null);
+
+        try {
+            int discovered = 0;
+            GHRepository repository = getRepository(gitHub);
+            recordApiCall("check-runs.list");
+            for (GHCheckRun existing : repository.getCheckRuns(context.getHeadSha(), filter).toList()) {
+                if (Objects.equals(externalId, existing.getExternalId())) {
+                    context.addActionIfMissing(existing.getId(), existing.getName());
+                    discovered++;
+                }
+            }
+
+            if (discovered > 0) {
+                buildLogger.log("Recovered %d existing GitHub check(s) for this build.", discovered);
+            }
+        }
+        catch (IOException e) {
+            if (SYSTEM_LOGGER.isLoggable(Level.FINE)) {
+                SYSTEM_LOGGER.log(Level.FINE, removeLineBreaks(format(
+                        "Could not list existing check runs for repo: %s, sha: %s",
+                        context.getRepository(), context.getHeadSha())), e);
+            }
+        }
+    }
+
+    /**
+     * Removes line breaks from a log message, so that it cannot forge log entries. Unlike a regular expression, the
+     * message is only copied if it contains a line break.
+     */
+    private static String removeLineBreaks(final String message) {
+        return StringUtils.remove(StringUtils.remove(message, '\r'), '\n');
+    }
+
+    @VisibleForTesting
+    GitHub connect(final String apiUri, final StandardUsernameCredentials credentials) throws IOException {
+        return Connector.connect(apiUri, credentials);
+    }
+
     @VisibleForTesting
     GHCheckRunBuilder getUpdater(final GitHub github, final GitHubChecksDetails details, final long checkId)
             throws IOException {
-        GHCheckRunBuilder builder = github.getRepository(context.getRepository())
-                .updateCheckRun(checkId);
+        GHCheckRunBuilder builder = getRepository(github).updateCheckRun(checkId);
 
         return applyDetails(builder, details);
     }
 
     @VisibleForTesting
     GHCheckRunBuilder getCreator(final GitHub gitHub, final GitHubChecksDetails details) throws IOException {
-        GHCheckRunBuilder builder = gitHub.getRepository(context.getRepository())
+        GHCheckRunBuilder builder = getRepository(gitHub)
             .createCheckRun(details.getName(), context.getHeadSha())
             .withStartedAt(details.getStartedAt().orElse(Date.from(Instant.now())));
 
@@ -6,17 +6,14 @@ import hudson.Extension;
 import hudson.model.Job;
 import hudson.model.Run;
 import hudson.model.TaskListener;
-import hudson.plugins.git.GitSCM;
 import io.jenkins.plugins.checks.api.ChecksPublisher;
 import io.jenkins.plugins.checks.api.ChecksPublisherFactory;
-import io.jenkins.plugins.checks.github.config.DefaultGitHubChecksConfig;
 import io.jenkins.plugins.checks.github.config.GitHubChecksConfig;
+import io.jenkins.plugins.checks.github.status.GitHubChecksJobConfiguration;
 import io.jenkins.plugins.util.PluginLogger;
 import org.jenkinsci.plugins.displayurlapi.DisplayURLProvider;
-import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
 
 import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * An factory which produces {@link GitHubChecksPublisher}.
@@ -60,9 +57,13 @@ public class GitHubChecksPublisherFactory extends ChecksPublisherFactory {
         FilteredLog causeLogger = new FilteredLog("Causes for no suitable publisher found: ");
         PluginLogger consoleLogger = new PluginLogger(listener.getLogger(), "GitHub Checks");
 
+        GitHubChecksEvents.PublisherCreation event = new GitHubChecksEvents.PublisherCreation();
+        event.begin();
         for (GitHubChecksContext ctx : contexts) {
-            if (ctx.isValid(causeLogger)) {
-                return Optional.of(new GitHubChecksPublisher(ctx, consoleLogger));
+            if (isValid(ctx, causeLogger)) {
+                commit(event, ctx, true);
+                return Optional.of(new GitHubChecksPublisher(ctx, consoleLogger, GitHubChecksPublisher.GITHUB_URL,
+                        config.isPublishJournal()));
             }
         }
 
@@ -70,26 +71,36 @@ public class GitHubChecksPublisherFactory extends ChecksPublisherFactory {
             consoleLogger.logEachLine(causeLogger.getErrorMessages());
         }
 
+        commit(event, contexts[0], false);
         return Optional.empty();
     }
 
-    private GitHubChecksConfig getChecksConfig(final Job<?, ?> job) {
-        Optional<GitHubSCMSource> gitHubSCMSource = scmFacade.findGitHubSCMSource(job);
-        if (gitHubSCMSource.isPresent()) {
-            return getChecksConfig(gitHubSCMSource.get().getTraits().stream())
-                    .orElseGet(DefaultGitHubChecksConfig::new);
+    private boolean isValid(final GitHubChecksContext context, final FilteredLog causeLogger) {
+        GitHubChecksEvents.ContextValidation event = new GitHubChecksEvents.ContextValidation();
+        event.begin();
+        boolean valid = context.isValid(causeLogger);
+        event.end();
+        if (event.shouldCommit()) {
+            event.context = context.getClass().getSimpleName();
+            event.job = context.getJob().getFullName();
+            event.valid = valid;
+            event.commit();
         }
+        return valid;
+    }
 
-        Optional<GitSCM> gitSCM = scmFacade.findGitSCM(job);
-        return gitSCM.map(scm -> getChecksConfig(scm.getExtensions().stream())
-                .orElse(new DefaultGitHubChecksConfig()))
-                .orElseGet(DefaultGitHubChecksConfig::new);
-
+    private void commit(final GitHubChecksEvents.PublisherCreation event, final GitHubChecksContext context,
+            final boolean created) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.job = context.getJob().getFullName();
+            event.repository = created ? context.getRepository() : "";
+            event.created = created;
+            event.commit();
+        }
     }
 
-    private Optional<GitHubChecksConfig> getChecksConfig(final Stream<?> stream) {
-        return stream.filter(t -> t instanceof GitHubChecksConfig)
-                .findFirst()
-                .map(t -> (GitHubChecksConfig) t);
+    private GitHubChecksConfig getChecksConfig(final Job<?, ?> job) {
+        return GitHubChecksJobConfiguration.of(job, scmFacade);
     }
 }
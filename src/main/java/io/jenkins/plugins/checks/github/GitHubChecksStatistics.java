@@ -0,0 +1,331 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.ExtensionList;
+import hudson.ExtensionPoint;
+import jenkins.model.Jenkins;
+
+/**
+ * Collects statistics about the publishing of checks and the handling of webhook events. The statistics are kept in
+ * memory and forwarded to all registered {@link Listener}s, e.g. to expose them through the metrics plugin if it is
+ * installed.
+ */
+public final class GitHubChecksStatistics {
+    private static final Logger LOGGER = Logger.getLogger(GitHubChecksStatistics.class.getName());
+    private static final GitHubChecksStatistics INSTANCE = new GitHubChecksStatistics();
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final int MAX_FAILURES = 20;
+
+    /**
+     * The outcome of publishing a check.
+     */
+    public enum Outcome {
+        /** The check has been published. */
+        SUCCESS,
+        /** The check could not be published. */
+        FAILURE,
+        /** The check has not been published since the credentials do not support checks. */
+        SKIPPED
+    }
+
+    private final Map<Outcome, LongAdder> publishes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> apiCalls = new ConcurrentHashMap<>();
+    private final Map<String, RateLimit> rateLimits = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlightPublishes = new ConcurrentHashMap<>();
+    private final LongAdder webhookEvents = new LongAdder();
+
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+    private int nextLatency;
+    private final Deque<Failure> failures = new ArrayDeque<>();
+
+    /**
+     * Returns the statistics of this Jenkins instance.
+     *
+     * @return the statistics
+     */
+    public static GitHubChecksStatistics get() {
+        return INSTANCE;
+    }
+
+    GitHubChecksStatistics() {
+        // only the singleton and tests create statistics
+    }
+
+    void recordPublish(final Outcome outcome, final long durationNanos) {
+        publishes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (outcome != Outcome.SKIPPED) {
+            recordLatency(durationNanos);
+        }
+        notifyListeners(listener -> listener.onPublished(outcome, durationNanos));
+    }
+
+    private synchronized void recordLatency(final long durationNanos) {
+        latencies[nextLatency] = durationNanos;
+        nextLatency = (nextLatency + 1) % LATENCY_SAMPLES;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_SAMPLES);
+    }
+
+    synchronized void recordFailure(final String repository, final String checkName, final String message) {
+        failures.addFirst(new Failure(new Date(), repository, checkName, message));
+        while (failures.size() > MAX_FAILURES) {
+            failures.removeLast();
+        }
+    }
+
+    void startPublish(final String repository) {
+        inFlightPublishes.computeIfAbsent(repository, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void finishPublish(final String repository) {
+        inFlightPublishes.computeIfPresent(repository, (key, count) -> count.decrementAndGet() > 0 ? count : null);
+    }
+
+    void recordApiCall(final String endpoint) {
+        apiCalls.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        notifyListeners(listener -> listener.onApiCall(endpoint));
+    }
+
+    void recordRateLimit(final String installation, final int remaining, final int limit, final Date reset) {
+        if (rateLimits.put(installation, new RateLimit(remaining, limit, reset)) == null) {
+            notifyListeners(listener -> listener.onInstallationAdded(installation));
+        }
+    }
+
+    void recordWebhook(final long durationNanos) {
+        webhookEvents.increment();
+        notifyListeners(listener -> listener.onWebhookHandled(durationNanos));
+    }
+
+    /**
+     * Returns the number of publishes with the given outcome.
+     *
+     * @param outcome
+     *         the outcome
+     * @return the number of publishes
+     */
+    public long getPublishes(final Outcome outcome) {
+        LongAdder count = publishes.get(outcome);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * Returns the number of GitHub API requests per endpoint.
+     *
+     * @return the number of requests, sorted by endpoint
+     */
+    public Map<String, Long> getApiCalls() {
+        Map<String, Long> calls = new TreeMap<>();
+        apiCalls.forEach((endpoint, count) -> calls.put(endpoint, count.sum()));
+        return calls;
+    }
+
+    /**
+     * Returns the remaining requests of the GitHub API rate limit per installation, as reported by the last response.
+     *
+     * @return the remaining requests, sorted by installation
+     */
+    public Map<String, Integer> getRateLimitRemaining() {
+        Map<String, Integer> remaining = new TreeMap<>();
+        rateLimits.forEach((installation, rateLimit) -> remaining.put(installation, rateLimit.getRemaining()));
+        return remaining;
+    }
+
+    /**
+     * Returns the rate limit per installation, as reported by the last response.
+     *
+     * @return the rate limits, sorted by installation
+     */
+    public Map<String, RateLimit> getRateLimits() {
+        return Collections.unmodifiableMap(new TreeMap<>(rateLimits));
+    }
+
+    /**
+     * Returns the number of checks per repository that are being published right now.
+     *
+     * @return the number of publishes in progress, sorted by repository
+     */
+    public Map<String, Integer> getInFlightPublishes() {
+        Map<String, Integer> inFlight = new TreeMap<>();
+        inFlightPublishes.forEach((repository, count) -> inFlight.put(repository, count.get()));
+        return inFlight;
+    }
+
+    /**
+     * Returns the most recent failures to publish a check, the latest failure first.
+     *
+     * @return the recent failures
+     */
+    public synchronized List<Failure> getRecentFailures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Returns a percentile of the latency of the most recent publishes.
+     *
+     * @param percentile
+     *         the percentile, between 0 and 100
+     * @return the latency in milliseconds or 0 if nothing has been published yet
+     */
+    public long getPublishLatencyMillis(final int percentile) {
+        long[] samples;
+        synchronized (this) {
+            samples = Arrays.copyOf(latencies, latencyCount);
+        }
+        if (samples.length == 0) {
+            return 0;
+        }
+
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile / 100.0 * samples.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(samples[Math.max(0, Math.min(index, samples.length - 1))]);
+    }
+
+    /**
+     * Returns the number of webhook events that have been handled.
+     *
+     * @return the number of handled events
+     */
+    public long getWebhookEvents() {
+        return webhookEvents.sum();
+    }
+
+    private void notifyListeners(final Consumer<Listener> notification) {
+        if (Jenkins.getInstanceOrNull() == null) {
+            return;
+        }
+
+        List<Listener> listeners = ExtensionList.lookup(Listener.class);
+        for (Listener listener : listeners) {
+            try {
+                notification.accept(listener);
+            }
+            catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not notify statistics listener " + listener, e);
+            }
+        }
+    }
+
+    /**
+     * The rate limit of a GitHub App installation.
+     */
+    public static final class RateLimit {
+        private final int remaining;
+        private final int limit;
+        private final Date reset;
+
+        RateLimit(final int remaining, final int limit, final Date reset) {
+            this.remaining = remaining;
+            this.limit = limit;
+            this.reset = new Date(reset.getTime());
+        }
+
+        public int getRemaining() {
+            return remaining;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public Date getReset() {
+            return new Date(reset.getTime());
+        }
+    }
+
+    /**
+     * A failure to publish a check.
+     */
+    public static final class Failure {
+        private final Date timestamp;
+        private final String repository;
+        private final String checkName;
+        private final String message;
+
+        Failure(final Date timestamp, final String repository, final String checkName, final String message) {
+            this.timestamp = new Date(timestamp.getTime());
+            this.repository = repository;
+            this.checkName = checkName;
+            this.message = message;
+        }
+
+        public Date getTimestamp() {
+            return new Date(timestamp.getTime());
+        }
+
+        public String getRepository() {
+            return repository;
+        }
+
+        public String getCheckName() {
+            return checkName;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Receives the statistics as they are recorded.
+     */
+    public abstract static class Listener implements ExtensionPoint {
+        /**
+         * Called when a check has been published.
+         *
+         * @param outcome
+         *         the outcome of publishing
+         * @param durationNanos
+         *         the time it took to publish the check in nanoseconds
+         */
+        public void onPublished(final Outcome outcome, final long durationNanos) {
+            // default: ignore
+        }
+
+        /**
+         * Called when a request to the GitHub API has been made.
+         *
+         * @param endpoint
+         *         the name of the endpoint, e.g. {@code check-runs.create}
+         */
+        public void onApiCall(final String endpoint) {
+            // default: ignore
+        }
+
+        /**
+         * Called when the rate limit of a GitHub App installation has been recorded for the first time.
+         *
+         * @param installation
+         *         the installation
+         */
+        public void onInstallationAdded(final String installation) {
+            // default: ignore
+        }
+
+        /**
+         * Called when a webhook event has been handled.
+         *
+         * @param durationNanos
+         *         the time it took to handle the event in nanoseconds
+         */
+        public void onWebhookHandled(final long durationNanos) {
+            // default: ignore
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.ExtensionList;
+import hudson.ExtensionPoint;
+import hudson.model.Run;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+
+/**
+ * Traces the publishing of checks and the handling of rerun requests. Spans are only recorded if an implementation of
+ * this extension point is registered, e.g. {@link OpenTelemetryTracing} if the OpenTelemetry API plugin is installed.
+ * Tracing is opt-in and needs to be enabled with the system property
+ * {@code io.jenkins.plugins.checks.github.GitHubChecksTracing.enabled}.
+ */
+public abstract class GitHubChecksTracing implements ExtensionPoint {
+    private static final boolean ENABLED = SystemProperties.getBoolean(
+            GitHubChecksTracing.class.getName() + ".enabled", false);
+    private static final String JOB_ATTRIBUTE = "ci.pipeline.id";
+    private static final String BUILD_NUMBER_ATTRIBUTE = "ci.pipeline.run.number";
+
+    private static final TracingSpan NO_SPAN = new TracingSpan() {
+        @Override
+        public TracingSpan setAttribute(final String key, final String value) {
+            return this;
+        }
+
+        @Override
+        public TracingSpan setAttribute(final String key, final long value) {
+            return this;
+        }
+
+        @Override
+        public void recordException(final Throwable exception) {
+            // nothing to record
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    };
+
+    /**
+     * Starts a span that becomes the current span until it is closed. If the span belongs to a run, the full name of
+     * its job and its build number are added as attributes, using the names of the OpenTelemetry plugin.
+     *
+     * @param name
+     *         the name of the span
+     * @param run
+     *         the run the span belongs to, if any
+     * @return the started span
+     */
+    static TracingSpan start(final String name, @CheckForNull final Run<?, ?> run) {
+        if (!ENABLED || Jenkins.getInstanceOrNull() == null) {
+            return NO_SPAN;
+        }
+
+        List<GitHubChecksTracing> tracings = ExtensionList.lookup(GitHubChecksTracing.class);
+        if (tracings.isEmpty()) {
+            return NO_SPAN;
+        }
+
+        TracingSpan span = tracings.get(0).startSpan(name);
+        if (run != null) {
+            span.setAttribute(JOB_ATTRIBUTE, run.getParent().getFullName())
+                    .setAttribute(BUILD_NUMBER_ATTRIBUTE, run.getNumber());
+        }
+        return span;
+    }
+
+    /**
+     * Starts a span that becomes the current span until it is closed.
+     *
+     * @param name
+     *         the name of the span
+     * @return the started span
+     */
+    protected abstract TracingSpan startSpan(String name);
+
+    /**
+     * A span that has been started by a {@link GitHubChecksTracing}.
+     */
+    public interface TracingSpan extends AutoCloseable {
+        /**
+         * Sets an attribute of the span.
+         *
+         * @param key
+         *         the key of the attribute
+         * @param value
+         *         the value of the attribute
+         * @return this span
+         */
+        TracingSpan setAttribute(String key, String value);
+
+        /**
+         * Sets an attribute of the span.
+         *
+         * @param key
+         *         the key of the attribute
+         * @param value
+         *         the value of the attribute
+         * @return this span
+         */
+        TracingSpan setAttribute(String key, long value);
+
+        /**
+         * Records an exception and marks the span as failed.
+         *
+         * @param exception
+         *         the exception
+         */
+        void recordException(Throwable exception);
+
+        /**
+         * Ends the span.
+         */
+        @Override
+        void close();
+    }
+}
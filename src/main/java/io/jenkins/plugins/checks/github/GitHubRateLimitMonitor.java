@@ -0,0 +1,69 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import hudson.Extension;
+import hudson.model.AdministrativeMonitor;
+import jenkins.util.SystemProperties;
+
+/**
+ * Warns administrators when the remaining requests of a GitHub App installation drop below a budget. The budget can
+ * be changed with the system property {@code io.jenkins.plugins.checks.github.GitHubRateLimitMonitor.budget}.
+ */
+@Extension
+public class GitHubRateLimitMonitor extends AdministrativeMonitor {
+    private static final int BUDGET = SystemProperties.getInteger(GitHubRateLimitMonitor.class.getName() + ".budget",
+            500);
+
+    private final GitHubChecksStatistics statistics;
+    private final int budget;
+
+    /**
+     * Creates the monitor for the statistics of this Jenkins instance.
+     */
+    public GitHubRateLimitMonitor() {
+        this(GitHubChecksStatistics.get(), BUDGET);
+    }
+
+    GitHubRateLimitMonitor(final GitHubChecksStatistics statistics, final int budget) {
+        super();
+
+        this.statistics = statistics;
+        this.budget = budget;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "GitHub Checks Rate Limit";
+    }
+
+    @Override
+    public boolean isActivated() {
+        return !getExhaustedInstallations().isEmpty();
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the installations whose remaining requests are below the budget. Installations whose rate limit has
+     * been reset since their last response are skipped, since their remaining requests are outdated.
+     *
+     * @return the remaining requests per installation
+     */
+    public Map<String, Integer> getExhaustedInstallations() {
+        return getExhaustedInstallations(System.currentTimeMillis());
+    }
+
+    Map<String, Integer> getExhaustedInstallations(final long now) {
+        Map<String, Integer> exhausted = new TreeMap<>();
+        statistics.getRateLimits().forEach((installation, rateLimit) -> {
+            if (rateLimit.getRemaining() < budget && rateLimit.getReset().getTime() > now) {
+                exhausted.put(installation, rateLimit.getRemaining());
+            }
+        });
+        return exhausted;
+    }
+}
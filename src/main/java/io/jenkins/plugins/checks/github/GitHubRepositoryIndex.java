@@ -0,0 +1,276 @@
+package io.jenkins.plugins.checks.github;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.collect.MapMaker;
+import org.apache.commons.lang3.StringUtils;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.listeners.ItemListener;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+/**
+ * An index from a GitHub repository, i.e. its full name and the API URI of its server, to the jobs whose
+ * {@link GitHubSCMSource} points to it. The index is built in the background when Jenkins has loaded all items and
+ * maintained by an {@link ItemListener}, so that webhook events can be routed to the relevant jobs without walking
+ * the whole item tree. Jobs that are not yet indexed are added on their first lookup. The SCM source of a job is
+ * looked up without holding a lock, while the index itself is only changed under {@link #WRITE_LOCK}; entries added
+ * by the initial indexing or by a first lookup never replace an entry written by the listener in the meantime. Jobs
+ * are weakly referenced and compared by identity.
+ */
+final class GitHubRepositoryIndex {
+    private static final Logger LOGGER = Logger.getLogger(GitHubRepositoryIndex.class.getName());
+    private static final Object WRITE_LOCK = new Object();
+
+    private static final Map<Job<?, ?>, Entry> REPOSITORIES = new MapMaker().weakKeys().makeMap();
+    private static final Map<String, Set<Job<?, ?>>> JOBS = new ConcurrentHashMap<>();
+    /** The indexed jobs by their full name, so that the jobs of a folder can be found; guarded by the write lock. */
+    private static final NavigableMap<String, WeakReference<Job<?, ?>>> JOBS_BY_NAME = new TreeMap<>();
+
+    private static volatile Future<?> initialIndexing = CompletableFuture.completedFuture(null);
+
+    private GitHubRepositoryIndex() {
+        // prevents instantiation
+    }
+
+    /**
+     * Returns the full name of the GitHub repository the {@code job} is built from.
+     *
+     * @param job
+     *         the job
+     * @param scmFacade
+     *         the facade used to find the SCM source of the job if it is not indexed yet
+     * @return the full name of the repository or empty if the job does not use a {@link GitHubSCMSource}
+     */
+    static Optional<String> getRepository(final Job<?, ?> job, final SCMFacade scmFacade) {
+        Entry entry = REPOSITORIES.get(job);
+        if (entry == null) {
+            entry = index(job, scmFacade, false);
+        }
+
+        return Optional.ofNullable(entry.repository);
+    }
+
+    /**
+     * Returns the jobs that are built from the given GitHub repository. Waits until the jobs that have been loaded
+     * on startup are indexed.
+     *
+     * @param apiUri
+     *         the API URI of the GitHub server, {@code null} for GitHub.com
+     * @param repository
+     *         the full name of the repository, e.g. jenkinsci/github-checks-plugin
+     * @return the jobs of the repository
+     */
+    static Set<Job<?, ?>> getJobs(@CheckForNull final String apiUri, final String repository) {
+        awaitInitialIndexing();
+
+        Set<Job<?, ?>> jobs = JOBS.get(toKey(apiUri, repository));
+        return jobs == null ? new HashSet<>() : new HashSet<>(jobs);
+    }
+
+    private static void awaitInitialIndexing() {
+        try {
+            initialIndexing.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Could not index the jobs of GitHub repositories", e.getCause());
+        }
+    }
+
+    /**
+     * Looks up the repository of the job and indexes it.
+     *
+     * @param job
+     *         the job
+     * @param scmFacade
+     *         the facade used to find the SCM source of the job
+     * @param replace
+     *         whether an existing entry of the job should be replaced, otherwise it is kept and returned
+     * @return the entry of the job in the index
+     */
+    static Entry index(final Job<?, ?> job, final SCMFacade scmFacade, final boolean replace) {
+        Entry entry = new Entry(job.getFullName(), scmFacade.findGitHubSCMSource(job).orElse(null));
+
+        synchronized (WRITE_LOCK) {
+            Entry previous = REPOSITORIES.get(job);
+            if (previous != null) {
+                if (!replace) {
+                    return previous;
+                }
+                unlink(job, previous);
+            }
+            REPOSITORIES.put(job, entry);
+            link(job, entry);
+        }
+
+        return entry;
+    }
+
+    private static void link(final Job<?, ?> job, final Entry entry) {
+        if (entry.key != null) {
+            JOBS.computeIfAbsent(entry.key, key -> createJobSet()).add(job);
+        }
+        JOBS_BY_NAME.put(entry.name, new WeakReference<>(job));
+    }
+
+    private static void unlink(final Job<?, ?> job, final Entry entry) {
+        if (entry.key != null) {
+            JOBS.computeIfPresent(entry.key, (key, jobs) -> {
+                jobs.remove(job);
+                return jobs.isEmpty() ? null : jobs;
+            });
+        }
+        WeakReference<Job<?, ?>> reference = JOBS_BY_NAME.get(entry.name);
+        if (reference != null && reference.get() == job) {
+            JOBS_BY_NAME.remove(entry.name);
+        }
+    }
+
+    private static Set<Job<?, ?>> createJobSet() {
+        return Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    }
+
+    private static void reindex(final Job<?, ?> job) {
+        SCMFacade.invalidate(job);
+        index(job, new SCMFacade(), true);
+    }
+
+    private static void remove(final Job<?, ?> job) {
+        synchronized (WRITE_LOCK) {
+            Entry previous = REPOSITORIES.remove(job);
+            if (previous != null) {
+                unlink(job, previous);
+            }
+        }
+    }
+
+    static List<Job<?, ?>> getIndexedJobsIn(final Item parent) {
+        String prefix = parent.getFullName() + "/";
+        List<Job<?, ?>> jobs = new ArrayList<>();
+        synchronized (WRITE_LOCK) {
+            Iterator<WeakReference<Job<?, ?>>> references = JOBS_BY_NAME
+                    .subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().iterator();
+            while (references.hasNext()) {
+                Job<?, ?> job = references.next().get();
+                if (job == null) {
+                    references.remove();
+                }
+                else {
+                    jobs.add(job);
+                }
+            }
+        }
+        return jobs;
+    }
+
+    private static void indexAll() {
+        SCMFacade scmFacade = new SCMFacade();
+        for (Job<?, ?> job : Jenkins.get().allItems(Job.class)) {
+            // jobs that have been looked up or changed in the meantime are already up to date
+            if (!REPOSITORIES.containsKey(job)) {
+                index(job, scmFacade, false);
+            }
+        }
+    }
+
+    private static String toKey(@CheckForNull final String apiUri, final String repository) {
+        return StringUtils.removeEnd(StringUtils.defaultIfBlank(apiUri, GitHubChecksPublisher.GITHUB_URL), "/")
+                .toLowerCase(Locale.ROOT) + " " + repository.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The repository of an indexed job and the full name the job had when it was indexed.
+     */
+    static final class Entry {
+        private final String name;
+        @CheckForNull
+        private final String repository;
+        @CheckForNull
+        private final String key;
+
+        Entry(final String name, @CheckForNull final GitHubSCMSource source) {
+            this.name = name;
+            if (source == null) {
+                this.repository = null;
+                this.key = null;
+            }
+            else {
+                String fullName = source.getRepoOwner() + "/" + source.getRepository();
+                this.repository = fullName.toLowerCase(Locale.ROOT);
+                this.key = toKey(source.getApiUri(), fullName);
+            }
+        }
+    }
+
+    /**
+     * Keeps the index up to date when items are loaded, created, changed, moved, or deleted.
+     */
+    @Extension
+    public static class IndexingItemListener extends ItemListener {
+        @Override
+        public void onLoaded() {
+            initialIndexing = Timer.get().submit(GitHubRepositoryIndex::indexAll);
+        }
+
+        @Override
+        public void onCreated(final Item item) {
+            update(item);
+        }
+
+        @Override
+        public void onUpdated(final Item item) {
+            update(item);
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+            update(item);
+        }
+
+        @Override
+        public void onDeleted(final Item item) {
+            if (item instanceof Job) {
+                remove((Job<?, ?>) item);
+            }
+            else {
+                getIndexedJobsIn(item).forEach(GitHubRepositoryIndex::remove);
+            }
+        }
+
+        private void update(final Item item) {
+            if (item instanceof Job) {
+                reindex((Job<?, ?>) item);
+            }
+            else {
+                // folders and multibranch projects define the SCM sources of their children
+                getIndexedJobsIn(item).forEach(GitHubRepositoryIndex::reindex);
+            }
+        }
+    }
+}
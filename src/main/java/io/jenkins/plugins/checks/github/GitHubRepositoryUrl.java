@@ -0,0 +1,131 @@
+package io.jenkins.plugins.checks.github;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+/**
+ * A GitHub repository parsed from the URL of a Git remote. Supported are the schemes
+ * {@code git@host:owner/repository(.git)}, {@code ssh://[user@]host[:port]/owner/repository(.git)}, and
+ * {@code http(s)://[user@]host[:port]/owner/repository(.git)}. The most recently parsed URLs are cached, so resolving
+ * the same remote again only costs a map lookup.
+ */
+final class GitHubRepositoryUrl {
+    private static final String GITHUB_HOST = "github.com";
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private static final Pattern SCP_LIKE_URL = Pattern.compile(
+            "git@(?<host>[^:/]+):/?(?<owner>[^/]+)/(?<repository>[^/]+?)(?:\\.git)?/?");
+    private static final Pattern SCHEME_URL = Pattern.compile(
+            "(?:https?|ssh)://(?:[^@/]+@)?(?<host>[^:/]+)(?::\\d+)?"
+                    + "/(?<owner>[^/]+)/(?<repository>[^/]+?)(?:\\.git)?/?");
+
+    private static final Map<String, Optional<GitHubRepositoryUrl>> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Optional<GitHubRepositoryUrl>> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    private final String host;
+    private final String owner;
+    private final String repository;
+
+    private GitHubRepositoryUrl(final String host, final String owner, final String repository) {
+        this.host = host;
+        this.owner = owner;
+        this.repository = repository;
+    }
+
+    /**
+     * Parses the URL of a Git remote.
+     *
+     * @param url
+     *         the URL of the remote
+     * @return the parsed repository or empty if the URL is not supported
+     */
+    static Optional<GitHubRepositoryUrl> parse(@CheckForNull final String url) {
+        if (StringUtils.isBlank(url)) {
+            return Optional.empty();
+        }
+
+        synchronized (CACHE) {
+            Optional<GitHubRepositoryUrl> cached = CACHE.get(url);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Optional<GitHubRepositoryUrl> parsed = doParse(url.trim());
+        synchronized (CACHE) {
+            CACHE.put(url, parsed);
+        }
+
+        return parsed;
+    }
+
+    private static Optional<GitHubRepositoryUrl> doParse(final String url) {
+        Matcher matcher = SCP_LIKE_URL.matcher(url);
+        if (!matcher.matches()) {
+            matcher = SCHEME_URL.matcher(url);
+            if (!matcher.matches()) {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(new GitHubRepositoryUrl(matcher.group("host"), matcher.group("owner"),
+                matcher.group("repository")));
+    }
+
+    @CheckForNull
+    private static String getHost(final String apiUri) {
+        try {
+            return URI.create(apiUri).getHost();
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the full name of the repository, e.g. jenkinsci/github-checks-plugin.
+     *
+     * @return the full name of the repository
+     */
+    String getFullName() {
+        return owner + "/" + repository;
+    }
+
+    /**
+     * Returns the API URI of the GitHub Enterprise server hosting the repository, e.g.
+     * https://github.example.com/api/v3. The host of the remote is only trusted if it matches one of the configured
+     * servers, since SSH remotes may use host aliases (e.g. {@code git@github-work:owner/repository}) that are
+     * resolved by the SSH configuration to github.com.
+     *
+     * @param configuredApiUris
+     *         provides the API URIs of the configured GitHub Enterprise servers, only called if the repository is not
+     *         hosted on github.com
+     * @return the API URI of the configured server with the host of the remote, or empty if the repository is
+     *         hosted on github.com or on an unknown server
+     */
+    Optional<String> getEnterpriseApiUri(final Supplier<? extends Collection<String>> configuredApiUris) {
+        if (GITHUB_HOST.equalsIgnoreCase(host) || StringUtils.endsWithIgnoreCase(host, "." + GITHUB_HOST)) {
+            return Optional.empty();
+        }
+
+        return configuredApiUris.get().stream()
+                .filter(apiUri -> host.equalsIgnoreCase(getHost(apiUri)))
+                .findFirst();
+    }
+}
@@ -1,8 +1,6 @@
 package io.jenkins.plugins.checks.github;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
@@ -22,7 +20,6 @@ import hudson.plugins.git.util.BuildData;
  * Provides a {@link GitHubChecksContext} for a Jenkins job that uses a supported {@link GitSCM}.
  */
 class GitSCMChecksContext extends GitHubChecksContext {
-    private static final int VALID_REPOSITORY_PATH_SEGMENTS = 2;
     private final Run<?, ?> run;
 
     /**
@@ -59,6 +56,13 @@ class GitSCMChecksContext extends GitHubChecksContext {
             return StringUtils.EMPTY;
         }
 
+        // The revision built by this run is what GIT_COMMIT is derived from, so read it directly
+        // instead of computing the whole environment of the run
+        Revision builtRevision = gitBuildData.lastBuild.getRevision();
+        if (builtRevision != null && builtRevision.getSha1() != null) {
+            return builtRevision.getSha1String();
+        }
+
         try {
             String head = getGitCommitEnvironment();
             if (StringUtils.isNotBlank(head)) {
@@ -99,29 +103,15 @@ class GitSCMChecksContext extends GitHubChecksContext {
 
     @VisibleForTesting
     String getRepository(final String repositoryUrl) {
-        if (StringUtils.isBlank(repositoryUrl)) {
-            return StringUtils.EMPTY;
-        }
-
-        if (repositoryUrl.startsWith("http")) {
-            URL url;
-            try {
-                url = new URL(repositoryUrl);
-            }
-            catch (MalformedURLException e) {
-                return StringUtils.EMPTY;
-            }
-
-            String[] pathParts = StringUtils.removeStart(url.getPath(), "/").split("/");
-            if (pathParts.length == VALID_REPOSITORY_PATH_SEGMENTS) {
-                return pathParts[0] + "/" + StringUtils.removeEnd(pathParts[1], ".git");
-            }
-        }
-        else if (repositoryUrl.matches("git@.+:.+\\/.+")) {
-            return StringUtils.removeEnd(repositoryUrl.split(":")[1], ".git");
-        }
+        return GitHubRepositoryUrl.parse(repositoryUrl)
+                .map(GitHubRepositoryUrl::getFullName)
+                .orElse(StringUtils.EMPTY);
+    }
 
-        return StringUtils.EMPTY;
+    @Override
+    public Optional<String> getApiUri() {
+        return GitHubRepositoryUrl.parse(getUserRemoteConfig().getUrl())
+                .flatMap(url -> url.getEnterpriseApiUri(getScmFacade()::getGitHubEnterpriseApiUris));
     }
 
     @Override
@@ -163,7 +153,8 @@ class GitSCMChecksContext extends GitHubChecksContext {
         if (StringUtils.isEmpty(repository)) {
             logger.logError("Repository url is not valid, requiring one of the following schemes:\n"
                     + "\t1. \"git@git-server:repository-owner/repository(.git)\"\n"
-                    + "\t2. \"http(s)://git-server/repository-owner/repository(.git)\"");
+                    + "\t2. \"ssh://git-server(:port)/repository-owner/repository(.git)\"\n"
+                    + "\t3. \"http(s)://git-server(:port)/repository-owner/repository(.git)\"");
 
             return false;
         }
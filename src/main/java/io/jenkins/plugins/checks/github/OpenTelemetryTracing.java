@@ -0,0 +1,60 @@
+package io.jenkins.plugins.checks.github;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+
+import hudson.Extension;
+
+/**
+ * Records the spans of {@link GitHubChecksTracing} with OpenTelemetry. The spans are exported by the globally
+ * configured OpenTelemetry SDK, e.g. to the OTLP collector configured in the OpenTelemetry plugin; without a
+ * configured SDK the spans are discarded. Spans are children of the current span of the calling thread, if any; the
+ * environment of a run is never resolved to find its trace context, since that is far too expensive for every
+ * publish. This extension is optional and only loaded if the OpenTelemetry API plugin is installed.
+ */
+@Extension(optional = true)
+public class OpenTelemetryTracing extends GitHubChecksTracing {
+    private static final String INSTRUMENTATION_SCOPE = "io.jenkins.plugins.checks.github";
+
+    @Override
+    protected TracingSpan startSpan(final String name) {
+        Span span = GlobalOpenTelemetry.getTracer(INSTRUMENTATION_SCOPE).spanBuilder(name).startSpan();
+        return new OpenTelemetrySpan(span, span.makeCurrent());
+    }
+
+    private static class OpenTelemetrySpan implements TracingSpan {
+        private final Span span;
+        private final Scope scope;
+
+        OpenTelemetrySpan(final Span span, final Scope scope) {
+            this.span = span;
+            this.scope = scope;
+        }
+
+        @Override
+        public TracingSpan setAttribute(final String key, final String value) {
+            span.setAttribute(key, value);
+            return this;
+        }
+
+        @Override
+        public TracingSpan setAttribute(final String key, final long value) {
+            span.setAttribute(key, value);
+            return this;
+        }
+
+        @Override
+        public void recordException(final Throwable exception) {
+            span.recordException(exception);
+            span.setStatus(StatusCode.ERROR);
+        }
+
+        @Override
+        public void close() {
+            scope.close();
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.ParametersAction;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import hudson.model.listeners.SCMListener;
+import hudson.scm.SCM;
+import hudson.scm.SCMRevisionState;
+import jenkins.util.SystemProperties;
+
+/**
+ * An index from the externalizable id of recently started runs to their job and parameters. Rerun requests for these
+ * runs can be scheduled without loading the old build from disk. The runs of jobs with a GitHub SCM source are also
+ * indexed by the commit they build, so that the builds of a rerequested check suite are found without walking the
+ * build history. Entries are evicted once they are older than the configured maximum age or when the index exceeds
+ * its capacity.
+ */
+final class RerunBuildIndex {
+    private static final long MAX_AGE_MILLIS = SystemProperties.getLong(
+            RerunBuildIndex.class.getName() + ".maxAgeMillis", TimeUnit.DAYS.toMillis(7));
+    private static final int MAX_ENTRIES = SystemProperties.getInteger(
+            RerunBuildIndex.class.getName() + ".maxEntries", 10_000);
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>();
+    private static final Map<String, Set<String>> RUNS_OF_COMMITS = new HashMap<>();
+
+    private RerunBuildIndex() {
+        // prevents instantiation
+    }
+
+    /**
+     * Records a started run.
+     *
+     * @param run
+     *         the run
+     * @param now
+     *         the current time in milliseconds
+     */
+    static void add(final Run<?, ?> run, final long now) {
+        add(run, null, now);
+    }
+
+    /**
+     * Records a started run and the commit it builds.
+     *
+     * @param run
+     *         the run
+     * @param headSha
+     *         the SHA of the commit the run builds, {@code null} if unknown
+     * @param now
+     *         the current time in milliseconds
+     */
+    static void add(final Run<?, ?> run, @CheckForNull final String headSha, final long now) {
+        Entry entry = new Entry(run.getParent(), run.getAction(ParametersAction.class), headSha, now);
+        synchronized (ENTRIES) {
+            evict(now);
+            put(run.getExternalizableId(), entry);
+            Iterator<Map.Entry<String, Entry>> oldest = ENTRIES.entrySet().iterator();
+            while (ENTRIES.size() > MAX_ENTRIES) {
+                unlinkCommit(oldest.next());
+                oldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Records the commit of an indexed run if it has not been known when the run has been started.
+     *
+     * @param run
+     *         the run
+     * @param headSha
+     *         the SHA of the commit the run builds
+     */
+    static void setHeadSha(final Run<?, ?> run, final String headSha) {
+        synchronized (ENTRIES) {
+            Entry entry = ENTRIES.get(run.getExternalizableId());
+            if (entry != null && entry.headSha == null) {
+                put(run.getExternalizableId(),
+                        new Entry(entry.getJob(), entry.getParameters(), headSha, entry.timestamp));
+            }
+        }
+    }
+
+    /**
+     * Finds the entry of the run with the given externalizable id.
+     *
+     * @param externalId
+     *         the externalizable id of the run
+     * @param now
+     *         the current time in milliseconds
+     * @return the entry of the run or empty if the run is not indexed
+     */
+    static Optional<Entry> find(final String externalId, final long now) {
+        synchronized (ENTRIES) {
+            evict(now);
+            return Optional.ofNullable(ENTRIES.get(externalId)).filter(entry -> entry.getJob() != null);
+        }
+    }
+
+    /**
+     * Finds the entries of the runs that have built the given commit.
+     *
+     * @param headSha
+     *         the SHA of the commit
+     * @param now
+     *         the current time in milliseconds
+     * @return the entries of the runs, from the earliest to the latest started run
+     */
+    static List<Entry> findByCommit(final String headSha, final long now) {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (ENTRIES) {
+            evict(now);
+            for (String externalId : RUNS_OF_COMMITS.getOrDefault(headSha.toLowerCase(Locale.ROOT), Set.of())) {
+                Entry entry = ENTRIES.get(externalId);
+                if (entry != null && entry.getJob() != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static void put(final String externalId, final Entry entry) {
+        Entry previous = ENTRIES.put(externalId, entry);
+        if (previous != null) {
+            unlinkCommit(Map.entry(externalId, previous));
+        }
+        if (entry.headSha != null) {
+            RUNS_OF_COMMITS.computeIfAbsent(entry.headSha, sha -> new LinkedHashSet<>()).add(externalId);
+        }
+    }
+
+    private static void unlinkCommit(final Map.Entry<String, Entry> indexed) {
+        String headSha = indexed.getValue().headSha;
+        if (headSha != null) {
+            Set<String> runs = RUNS_OF_COMMITS.get(headSha);
+            if (runs != null) {
+                runs.remove(indexed.getKey());
+                if (runs.isEmpty()) {
+                    RUNS_OF_COMMITS.remove(headSha);
+                }
+            }
+        }
+    }
+
+    private static void remove(final Job<?, ?> job) {
+        synchronized (ENTRIES) {
+            Iterator<Map.Entry<String, Entry>> entries = ENTRIES.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Entry> indexed = entries.next();
+                Job<?, ?> indexedJob = indexed.getValue().getJob();
+                if (indexedJob == null || indexedJob == job) {
+                    unlinkCommit(indexed);
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+            RUNS_OF_COMMITS.clear();
+        }
+    }
+
+    private static void evict(final long now) {
+        Iterator<Map.Entry<String, Entry>> oldest = ENTRIES.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Map.Entry<String, Entry> indexed = oldest.next();
+            if (now - indexed.getValue().timestamp <= MAX_AGE_MILLIS) {
+                return;
+            }
+            unlinkCommit(indexed);
+            oldest.remove();
+        }
+    }
+
+    @CheckForNull
+    private static String findHeadSha(final SCMFacade scmFacade, final Run<?, ?> run) {
+        return scmFacade.findGitHubSCMSource(run.getParent())
+                .flatMap(source -> scmFacade.findRevision(source, run))
+                .flatMap(scmFacade::findHash)
+                .map(sha -> sha.toLowerCase(Locale.ROOT))
+                .orElse(null);
+    }
+
+    /**
+     * The job and parameters of an indexed run.
+     */
+    static final class Entry {
+        private final WeakReference<Job<?, ?>> job;
+        @CheckForNull
+        private final ParametersAction parameters;
+        @CheckForNull
+        private final String headSha;
+        private final long timestamp;
+
+        Entry(@CheckForNull final Job<?, ?> job, @CheckForNull final ParametersAction parameters,
+                @CheckForNull final String headSha, final long timestamp) {
+            this.job = new WeakReference<>(job);
+            this.parameters = parameters;
+            this.headSha = headSha == null ? null : headSha.toLowerCase(Locale.ROOT);
+            this.timestamp = timestamp;
+        }
+
+        @CheckForNull
+        Job<?, ?> getJob() {
+            return job.get();
+        }
+
+        @CheckForNull
+        ParametersAction getParameters() {
+            return parameters;
+        }
+    }
+
+    /**
+     * Adds runs to the index when they start.
+     */
+    @Extension
+    public static class IndexingRunListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onStarted(final Run<?, ?> run, final TaskListener listener) {
+            add(run, findHeadSha(new SCMFacade(), run), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Adds the commit of a run to the index when it is checked out, since the revision of a run that has been
+     * started manually is only resolved on checkout.
+     */
+    @Extension
+    public static class IndexingSCMListener extends SCMListener {
+        @Override
+        public void onCheckout(final Run<?, ?> build, final SCM scm, @CheckForNull final FilePath workspace,
+                final TaskListener listener, @CheckForNull final File changelogFile,
+                @CheckForNull final SCMRevisionState pollingBaseline) {
+            String headSha = findHeadSha(new SCMFacade(), build);
+            if (headSha != null) {
+                setHeadSha(build, headSha);
+            }
+        }
+    }
+
+    /**
+     * Removes the runs of deleted jobs from the index.
+     */
+    @Extension
+    public static class IndexingItemListener extends ItemListener {
+        @Override
+        public void onDeleted(final Item item) {
+            if (item instanceof Job) {
+                remove((Job<?, ?>) item);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.util.SystemProperties;
+
+/**
+ * Limits the number of reruns that are scheduled for a single job within a sliding time window, so that a storm of
+ * rerun requests does not saturate the executors.
+ */
+class RerunRateLimiter {
+    private static final int MAX_RERUNS = SystemProperties.getInteger(
+            RerunRateLimiter.class.getName() + ".maxReruns", 5);
+    private static final long WINDOW_MILLIS = SystemProperties.getLong(
+            RerunRateLimiter.class.getName() + ".windowMillis", TimeUnit.MINUTES.toMillis(1));
+
+    private final int maxReruns;
+    private final long windowMillis;
+    private final Map<String, Deque<Long>> reruns = new HashMap<>();
+    private long limitedReruns;
+
+    RerunRateLimiter() {
+        this(MAX_RERUNS, WINDOW_MILLIS);
+    }
+
+    RerunRateLimiter(final int maxReruns, final long windowMillis) {
+        this.maxReruns = maxReruns;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Tries to acquire a permit to schedule a rerun of a job.
+     *
+     * @param job
+     *         the full name of the job
+     * @param now
+     *         the current time in milliseconds
+     * @return {@code true} if the rerun may be scheduled, {@code false} if the limit of the job has been reached
+     */
+    synchronized boolean tryAcquire(final String job, final long now) {
+        evictExpired(now);
+
+        Deque<Long> scheduled = reruns.computeIfAbsent(job, key -> new ArrayDeque<>());
+        if (scheduled.size() >= maxReruns) {
+            limitedReruns++;
+            return false;
+        }
+
+        scheduled.addLast(now);
+        return true;
+    }
+
+    /**
+     * Returns the number of reruns that have been rejected since the limit of their job has been reached.
+     *
+     * @return the number of rejected reruns
+     */
+    synchronized long getLimitedReruns() {
+        return limitedReruns;
+    }
+
+    long getWindowMillis() {
+        return windowMillis;
+    }
+
+    private void evictExpired(final long now) {
+        Iterator<Deque<Long>> jobs = reruns.values().iterator();
+        while (jobs.hasNext()) {
+            Deque<Long> scheduled = jobs.next();
+            while (!scheduled.isEmpty() && now - scheduled.peekFirst() >= windowMillis) {
+                scheduled.removeFirst();
+            }
+            if (scheduled.isEmpty()) {
+                jobs.remove();
+            }
+        }
+    }
+}
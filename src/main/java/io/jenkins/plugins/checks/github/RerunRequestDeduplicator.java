@@ -0,0 +1,153 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.BulkChange;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
+
+/**
+ * Remembers the rerun requests that have been accepted recently, so that duplicated deliveries of the same request
+ * (retried webhooks or users clicking "Re-run" twice) do not schedule another build. Requests are forgotten after a
+ * time window, and at most a fixed number of requests is kept. The ids of webhook deliveries ({@code X-GitHub-Delivery})
+ * are kept for a longer time window, since GitHub may redeliver a webhook long after its first delivery. The accepted requests are persisted, if a file is
+ * given, so that they survive a restart of Jenkins. Since requests are registered on the webhook thread, the file is
+ * not written for every request, but once by a background task for all requests accepted within a short delay.
+ */
+class RerunRequestDeduplicator implements Saveable {
+    private static final Logger LOGGER = Logger.getLogger(RerunRequestDeduplicator.class.getName());
+    private static final long WINDOW_MILLIS = SystemProperties.getLong(
+            RerunRequestDeduplicator.class.getName() + ".windowMillis", TimeUnit.MINUTES.toMillis(10));
+    private static final long DELIVERY_WINDOW_MILLIS = SystemProperties.getLong(
+            RerunRequestDeduplicator.class.getName() + ".deliveryWindowMillis", TimeUnit.DAYS.toMillis(1));
+    private static final int MAX_REQUESTS = 1000;
+    private static final long SAVE_DELAY_MILLIS = 5000;
+
+    @CheckForNull
+    private final transient XmlFile file;
+    @CheckForNull
+    private final transient ScheduledExecutorService saver;
+    private transient boolean savePending;
+    // the time in milliseconds at which each request is forgotten
+    private final Map<String, Long> requests = new LinkedHashMap<>();
+    private long suppressedDuplicates;
+
+    RerunRequestDeduplicator(@CheckForNull final XmlFile file) {
+        this(file, file == null ? null : Timer.get());
+    }
+
+    RerunRequestDeduplicator(@CheckForNull final XmlFile file, @CheckForNull final ScheduledExecutorService saver) {
+        this.file = file;
+        this.saver = saver;
+
+        if (file != null && file.exists()) {
+            try {
+                file.unmarshal(this);
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not load recent rerun requests from " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Registers a rerun request.
+     *
+     * @param key
+     *         the key identifying the request
+     * @param now
+     *         the current time in milliseconds
+     * @return {@code true} if the request has not been seen within the time window, {@code false} if it is a
+     *         duplicate and should be ignored
+     */
+    boolean register(final String key, final long now) {
+        return register(key, now, WINDOW_MILLIS);
+    }
+
+    /**
+     * Registers the delivery of a webhook.
+     *
+     * @param deliveryId
+     *         the id of the delivery, i.e. the value of the {@code X-GitHub-Delivery} header
+     * @param now
+     *         the current time in milliseconds
+     * @return {@code true} if the delivery has not been seen within the time window of deliveries, {@code false} if
+     *         it is a redelivery and should be ignored
+     */
+    boolean registerDelivery(final String deliveryId, final long now) {
+        return register("delivery@" + deliveryId, now, DELIVERY_WINDOW_MILLIS);
+    }
+
+    private synchronized boolean register(final String key, final long now, final long windowMillis) {
+        evictExpired(now);
+
+        if (requests.containsKey(key)) {
+            suppressedDuplicates++;
+            return false;
+        }
+
+        requests.put(key, now + windowMillis);
+        Iterator<String> oldest = requests.keySet().iterator();
+        while (requests.size() > MAX_REQUESTS) {
+            oldest.next();
+            oldest.remove();
+        }
+        scheduleSave();
+
+        return true;
+    }
+
+    /**
+     * Returns the number of duplicated requests that have been suppressed.
+     *
+     * @return the number of suppressed duplicates
+     */
+    synchronized long getSuppressedDuplicates() {
+        return suppressedDuplicates;
+    }
+
+    private void evictExpired(final long now) {
+        requests.values().removeIf(expiration -> now > expiration);
+    }
+
+    private void scheduleSave() {
+        if (file == null || saver == null || savePending) {
+            return;
+        }
+
+        savePending = true;
+        saver.schedule(this::saveQuietly, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void saveQuietly() {
+        savePending = false;
+        try {
+            save();
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not persist recent rerun requests to " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void save() throws IOException {
+        if (file == null || BulkChange.contains(this)) {
+            return;
+        }
+
+        file.write(this);
+        SaveableListener.fireOnChange(this, file);
+    }
+}
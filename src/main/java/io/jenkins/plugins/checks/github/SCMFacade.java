@@ -3,13 +3,24 @@ package io.jenkins.plugins.checks.github;
 import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.XmlFile;
 import hudson.model.AbstractProject;
+import hudson.model.Item;
 import hudson.model.Job;
 import hudson.model.Run;
+import hudson.model.Saveable;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import hudson.model.listeners.SCMListener;
+import hudson.model.listeners.SaveableListener;
 import hudson.plugins.git.GitSCM;
 import hudson.plugins.git.UserRemoteConfig;
 import hudson.scm.NullSCM;
 import hudson.scm.SCM;
+import hudson.scm.SCMRevisionState;
 import jenkins.plugins.git.AbstractGitSCMSource;
 import jenkins.plugins.git.GitSCMSource;
 import jenkins.scm.api.SCMHead;
@@ -19,23 +30,36 @@ import jenkins.scm.api.SCMSource;
 import jenkins.triggers.SCMTriggerItem;
 
 import org.jenkinsci.plugins.github_branch_source.Connector;
+import org.jenkinsci.plugins.github_branch_source.Endpoint;
 import org.jenkinsci.plugins.github_branch_source.GitHubAppCredentials;
+import org.jenkinsci.plugins.github_branch_source.GitHubConfiguration;
 import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
 import org.jenkinsci.plugins.github_branch_source.PullRequestSCMRevision;
 import org.jenkinsci.plugins.workflow.cps.CpsScmFlowDefinition;
 import org.jenkinsci.plugins.workflow.flow.FlowDefinition;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Facade to {@link GitHubSCMSource} and {@link GitSCM} in Jenkins. 
- * Used for finding a supported SCM of a job.
+ * Used for finding a supported SCM of a job. The SCM source and the SCM of a job are cached until the configuration
+ * of the job or one of its parents changes, or a new checkout has been performed.
  */
 public class SCMFacade {
+    private static final Map<Job<?, ?>, CachedLookup> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Find {@link GitHubSCMSource} (or GitHub repository) used by the {@code job}.
      *
@@ -45,7 +69,7 @@ public class SCMFacade {
      */
     @CheckForNull
     public SCMSource findSCMSource(final Job<?, ?> job) {
-        return SCMSource.SourceByItem.findSource(job);
+        return getCachedLookup(job).getSource(() -> SCMSource.SourceByItem.findSource(job));
     }
 
     /**
@@ -72,6 +96,17 @@ public class SCMFacade {
         return source instanceof GitSCMSource ? Optional.of((GitSCMSource) source) : Optional.empty();
     }
 
+    /**
+     * Returns the API URIs of the GitHub Enterprise servers configured in the GitHub Branch Source plugin.
+     *
+     * @return the configured API URIs
+     */
+    public List<String> getGitHubEnterpriseApiUris() {
+        return GitHubConfiguration.get().getEndpoints().stream()
+                .map(Endpoint::getApiUri)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Finds the {@link GitSCM} used by the {@code run}.
      *
@@ -215,6 +250,12 @@ public class SCMFacade {
      * @return the SCM
      */
     public SCM getScm(final Job<?, ?> job) {
+        return getCachedLookup(job).getScm(() -> extractScm(job),
+                // Pipelines report the SCMs of their last completed build, which may change when a running build completes
+                () -> job instanceof AbstractProject || !job.isBuilding());
+    }
+
+    private SCM extractScm(final Job<?, ?> job) {
         if (job instanceof AbstractProject) {
             return extractFromProject((AbstractProject<?, ?>) job);
         }
@@ -252,4 +293,166 @@ public class SCMFacade {
 
         return new NullSCM();
     }
+
+    /**
+     * Returns the value of the given type that is derived from the SCM source or SCM of the {@code job}, e.g. its
+     * configuration. The value is created once and cached with the SCM lookups of the job, so it is discarded
+     * whenever these are invalidated.
+     *
+     * @param job
+     *         the job
+     * @param type
+     *         the type of the value
+     * @param factory
+     *         creates the value if it is not cached yet
+     * @param <T>
+     *         the type of the value
+     * @return the cached or created value
+     */
+    public static <T> T getDerived(final Job<?, ?> job, final Class<T> type, final Supplier<T> factory) {
+        return getCachedLookup(job).getDerived(type, factory);
+    }
+
+    private static CachedLookup getCachedLookup(final Job<?, ?> job) {
+        return CACHE.computeIfAbsent(job, j -> new CachedLookup());
+    }
+
+    /**
+     * Removes the cached SCM lookups of the {@code job}.
+     *
+     * @param job
+     *         the job to invalidate
+     */
+    static void invalidate(final Job<?, ?> job) {
+        CACHE.remove(job);
+    }
+
+    private static void invalidateItem(@CheckForNull final Object object) {
+        if (object instanceof Job) {
+            invalidate((Job<?, ?>) object);
+        }
+        else if (object instanceof Item) {
+            // folders and multibranch projects define the SCM sources of their children
+            invalidateDescendants((Item) object);
+        }
+    }
+
+    /**
+     * Removes the cached SCM lookups of the jobs within the {@code parent}.
+     *
+     * @param parent
+     *         the folder or multibranch project whose jobs should be invalidated
+     */
+    static void invalidateDescendants(final Item parent) {
+        String prefix = parent.getFullName() + "/";
+        synchronized (CACHE) {
+            CACHE.keySet().removeIf(job -> job.getFullName().startsWith(prefix));
+        }
+    }
+
+    /**
+     * The lazily resolved SCM source and SCM of a job. A missing SCM is not cached, neither is the SCM of a Pipeline
+     * while it is building.
+     */
+    private static final class CachedLookup {
+        private boolean isSourceResolved;
+        @CheckForNull
+        private SCMSource source;
+        @CheckForNull
+        private SCM scm;
+        private final Map<Class<?>, Object> derived = new HashMap<>();
+
+        @CheckForNull
+        synchronized SCMSource getSource(final Supplier<SCMSource> lookup) {
+            if (!isSourceResolved) {
+                source = lookup.get();
+                isSourceResolved = true;
+            }
+            return source;
+        }
+
+        synchronized <T> T getDerived(final Class<T> type, final Supplier<T> factory) {
+            Object value = derived.get(type);
+            if (value == null) {
+                value = factory.get();
+                derived.put(type, value);
+            }
+            return type.cast(value);
+        }
+
+        synchronized SCM getScm(final Supplier<SCM> lookup, final BooleanSupplier isCacheable) {
+            if (scm != null) {
+                return scm;
+            }
+
+            SCM resolved = lookup.get();
+            // Pipelines only know their SCM once a build has checked out and completed, so keep looking until then
+            if (!(resolved instanceof NullSCM) && isCacheable.getAsBoolean()) {
+                scm = resolved;
+            }
+            return resolved;
+        }
+    }
+
+    /**
+     * Invalidates the cached SCM lookups, and the values derived from them, when an item is reconfigured, moved, or
+     * deleted.
+     */
+    @Extension
+    public static class CacheInvalidatingItemListener extends ItemListener {
+        @Override
+        public void onUpdated(final Item item) {
+            invalidateItem(item);
+        }
+
+        @Override
+        public void onDeleted(final Item item) {
+            invalidateItem(item);
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+            invalidateItem(item);
+        }
+    }
+
+    /**
+     * Invalidates the cached SCM lookups, and the values derived from them, when the configuration of an item is saved
+     * programmatically, e.g. when the traits of its SCM source are changed in place.
+     */
+    @Extension
+    public static class CacheInvalidatingSaveableListener extends SaveableListener {
+        @Override
+        public void onChange(final Saveable o, final XmlFile file) {
+            invalidateItem(o);
+        }
+    }
+
+    /**
+     * Invalidates the cached SCM lookups of a Pipeline when one of its runs is finalized, since Pipelines report the
+     * SCMs of their last completed build.
+     */
+    @Extension
+    public static class CacheInvalidatingRunListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onFinalized(final Run<?, ?> run) {
+            if (!(run.getParent() instanceof AbstractProject)) {
+                invalidate(run.getParent());
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached SCM lookups of a job when one of its runs checked out sources, since Pipelines only
+     * report the used SCMs after a checkout.
+     */
+    @Extension
+    public static class CacheInvalidatingSCMListener extends SCMListener {
+        @Override
+        public void onCheckout(final Run<?, ?> build, final SCM scm, @CheckForNull final FilePath workspace,
+                final TaskListener listener, @CheckForNull final File changelogFile,
+                @CheckForNull final SCMRevisionState pollingBaseline) {
+            invalidate(build.getParent());
+        }
+    }
 }
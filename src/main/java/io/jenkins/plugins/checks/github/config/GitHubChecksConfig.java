@@ -10,4 +10,13 @@ public interface GitHubChecksConfig {
      * @return true for verbose log
      */
     boolean isVerboseConsoleLog();
+
+    /**
+     * Defines whether to record each publish attempt in a journal file of the run.
+     *
+     * @return true to record the journal
+     */
+    default boolean isPublishJournal() {
+        return false;
+    }
 }
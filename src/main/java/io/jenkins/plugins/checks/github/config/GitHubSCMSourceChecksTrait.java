@@ -18,6 +18,7 @@ import org.jenkinsci.Symbol;
 @Extension
 public class GitHubSCMSourceChecksTrait extends SCMSourceTrait implements GitHubChecksConfig {
     private boolean verboseConsoleLog;
+    private boolean publishJournal;
 
     /**
      * Constructor for stapler.
@@ -37,6 +38,16 @@ public class GitHubSCMSourceChecksTrait extends SCMSourceTrait implements GitHub
         return verboseConsoleLog;
     }
 
+    @DataBoundSetter
+    public void setPublishJournal(final boolean publishJournal) {
+        this.publishJournal = publishJournal;
+    }
+
+    @Override
+    public boolean isPublishJournal() {
+        return publishJournal;
+    }
+
     /**
      * Descriptor implementation for {@link GitHubSCMSourceChecksTrait}.
      */
@@ -12,6 +12,7 @@ import org.kohsuke.stapler.DataBoundSetter;
 @Extension
 public class GitSCMChecksExtension extends GitSCMExtension implements GitHubChecksConfig {
     private boolean verboseConsoleLog;
+    private boolean publishJournal;
 
     /**
      * Constructor for stapler.
@@ -31,6 +32,16 @@ public class GitSCMChecksExtension extends GitSCMExtension implements GitHubChec
         return verboseConsoleLog;
     }
 
+    @DataBoundSetter
+    public void setPublishJournal(final boolean publishJournal) {
+        this.publishJournal = publishJournal;
+    }
+
+    @Override
+    public boolean isPublishJournal() {
+        return publishJournal;
+    }
+
     /**
      * Descriptor for {@link GitSCMChecksExtension}.
      */
@@ -0,0 +1,129 @@
+package io.jenkins.plugins.checks.github.status;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
+import hudson.model.Job;
+import hudson.plugins.git.GitSCM;
+
+import io.jenkins.plugins.checks.github.SCMFacade;
+import io.jenkins.plugins.checks.github.config.DefaultGitHubChecksConfig;
+import io.jenkins.plugins.checks.github.config.GitHubChecksConfig;
+
+/**
+ * An immutable snapshot of the {@link GitHubStatusChecksConfigurations} and the {@link GitHubChecksConfig} of a job.
+ * The snapshot is cached with the SCM lookups of the job in {@link SCMFacade}, so a cached snapshot is returned without
+ * looking up the {@link GitHubSCMSource} or {@link GitSCM} of the job. It is rebuilt once the job or its folder has
+ * been reconfigured or saved, or the SCM of the job has changed.
+ */
+@SuppressWarnings("PMD.DataClass")
+public final class GitHubChecksJobConfiguration implements GitHubStatusChecksConfigurations, GitHubChecksConfig {
+    private static final GitHubStatusChecksConfigurations DEFAULT_STATUS_CONFIGURATIONS
+            = new DefaultGitHubStatusChecksConfigurations();
+
+    private final String name;
+    private final boolean skip;
+    private final boolean unstableBuildNeutral;
+    private final boolean suppressLogs;
+    private final boolean skipProgressUpdates;
+    private final boolean verboseConsoleLog;
+    private final boolean publishJournal;
+
+    private GitHubChecksJobConfiguration(final GitHubStatusChecksConfigurations statusChecksConfigurations,
+            final GitHubChecksConfig checksConfig) {
+        this.name = statusChecksConfigurations.getName();
+        this.skip = statusChecksConfigurations.isSkip();
+        this.unstableBuildNeutral = statusChecksConfigurations.isUnstableBuildNeutral();
+        this.suppressLogs = statusChecksConfigurations.isSuppressLogs();
+        this.skipProgressUpdates = statusChecksConfigurations.isSkipProgressUpdates();
+        this.verboseConsoleLog = checksConfig.isVerboseConsoleLog();
+        this.publishJournal = checksConfig.isPublishJournal();
+    }
+
+    /**
+     * Returns the configuration of the {@code job}.
+     *
+     * @param job
+     *         the job to get the configuration for
+     * @param scmFacade
+     *         the facade used to find the SCM of the job
+     * @return the configuration of the job
+     */
+    public static GitHubChecksJobConfiguration of(final Job<?, ?> job, final SCMFacade scmFacade) {
+        return SCMFacade.getDerived(job, GitHubChecksJobConfiguration.class,
+                () -> create(findOrigin(job, scmFacade)));
+    }
+
+    @CheckForNull
+    private static Object findOrigin(final Job<?, ?> job, final SCMFacade scmFacade) {
+        Optional<GitHubSCMSource> gitHubSCMSource = scmFacade.findGitHubSCMSource(job);
+        if (gitHubSCMSource.isPresent()) {
+            return gitHubSCMSource.get();
+        }
+
+        return scmFacade.findGitSCM(job).orElse(null);
+    }
+
+    private static GitHubChecksJobConfiguration create(@CheckForNull final Object origin) {
+        Collection<?> candidates;
+        if (origin instanceof GitHubSCMSource) {
+            candidates = ((GitHubSCMSource) origin).getTraits();
+        }
+        else if (origin instanceof GitSCM) {
+            candidates = ((GitSCM) origin).getExtensions();
+        }
+        else {
+            candidates = Collections.emptyList();
+        }
+
+        return new GitHubChecksJobConfiguration(
+                find(candidates, GitHubStatusChecksConfigurations.class).orElse(DEFAULT_STATUS_CONFIGURATIONS),
+                find(candidates, GitHubChecksConfig.class).orElseGet(DefaultGitHubChecksConfig::new));
+    }
+
+    private static <T> Optional<T> find(final Collection<?> candidates, final Class<T> type) {
+        return candidates.stream()
+                .filter(type::isInstance)
+                .findFirst()
+                .map(type::cast);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isSkip() {
+        return skip;
+    }
+
+    @Override
+    public boolean isUnstableBuildNeutral() {
+        return unstableBuildNeutral;
+    }
+
+    @Override
+    public boolean isSuppressLogs() {
+        return suppressLogs;
+    }
+
+    @Override
+    public boolean isSkipProgressUpdates() {
+        return skipProgressUpdates;
+    }
+
+    @Override
+    public boolean isVerboseConsoleLog() {
+        return verboseConsoleLog;
+    }
+
+    @Override
+    public boolean isPublishJournal() {
+        return publishJournal;
+    }
+}
@@ -1,8 +1,5 @@
 package io.jenkins.plugins.checks.github.status;
 
-import java.util.Optional;
-import java.util.stream.Stream;
-
 import edu.hm.hafner.util.VisibleForTesting;
 
 import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
@@ -20,9 +17,6 @@ import io.jenkins.plugins.checks.status.AbstractStatusChecksProperties;
  */
 @Extension
 public class GitHubStatusChecksProperties extends AbstractStatusChecksProperties {
-    private static final GitHubStatusChecksConfigurations DEFAULT_CONFIGURATION
-            = new DefaultGitHubStatusChecksConfigurations();
-
     private final SCMFacade scmFacade;
 
     /**
@@ -46,46 +40,30 @@ public class GitHubStatusChecksProperties extends AbstractStatusChecksProperties
 
     @Override
     public String getName(final Job<?, ?> job) {
-        return getConfigurations(job).orElse(DEFAULT_CONFIGURATION).getName();
+        return getConfiguration(job).getName();
     }
 
     @Override
     public boolean isSkipped(final Job<?, ?> job) {
-        return getConfigurations(job).orElse(DEFAULT_CONFIGURATION).isSkip();
+        return getConfiguration(job).isSkip();
     }
 
     @Override
     public boolean isUnstableBuildNeutral(final Job<?, ?> job) {
-        return getConfigurations(job).orElse(DEFAULT_CONFIGURATION).isUnstableBuildNeutral();
+        return getConfiguration(job).isUnstableBuildNeutral();
     }
 
     @Override
     public boolean isSuppressLogs(final Job<?, ?> job) {
-        return getConfigurations(job).orElse(DEFAULT_CONFIGURATION).isSuppressLogs();
+        return getConfiguration(job).isSuppressLogs();
     }
 
     @Override
     public boolean isSkipProgressUpdates(final Job<?, ?> job) {
-        return getConfigurations(job).orElse(DEFAULT_CONFIGURATION).isSkipProgressUpdates();
-    }
-
-    private Optional<GitHubStatusChecksConfigurations> getConfigurations(final Job<?, ?> job) {
-        Optional<GitHubSCMSource> gitHubSCMSource = scmFacade.findGitHubSCMSource(job);
-        if (gitHubSCMSource.isPresent()) {
-            return getConfigurations(gitHubSCMSource.get().getTraits().stream());
-        }
-
-        Optional<GitSCM> gitSCM = scmFacade.findGitSCM(job);
-        if (gitSCM.isPresent()) {
-            return getConfigurations(gitSCM.get().getExtensions().stream());
-        }
-
-        return Optional.empty();
+        return getConfiguration(job).isSkipProgressUpdates();
     }
 
-    private Optional<GitHubStatusChecksConfigurations> getConfigurations(final Stream<?> stream) {
-        return stream.filter(t -> t instanceof GitHubStatusChecksConfigurations)
-                .findFirst()
-                .map(t -> (GitHubStatusChecksConfigurations) t);
+    private GitHubStatusChecksConfigurations getConfiguration(final Job<?, ?> job) {
+        return GitHubChecksJobConfiguration.of(job, scmFacade);
     }
 }
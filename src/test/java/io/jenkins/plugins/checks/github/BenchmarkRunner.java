@@ -0,0 +1,39 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks of this plugin. The runner is not part of the regular test run, it is only executed by the
+ * {@code benchmark} profile: {@code mvn test -Pbenchmark}. A subset of the benchmarks can be selected with the
+ * system property {@code benchmark.include}, a regular expression that matches the benchmark names. Results are
+ * written to {@code target/jmh-report.json}.
+ */
+class BenchmarkRunner {
+    @Test
+    void runBenchmarks() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("benchmark.include", getClass().getPackageName() + "\\..*Benchmark"))
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .timeUnit(TimeUnit.SECONDS)
+                .forks(1)
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-report.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
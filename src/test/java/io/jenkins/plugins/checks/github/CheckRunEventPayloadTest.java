@@ -0,0 +1,71 @@
+package io.jenkins.plugins.checks.github;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CheckRunEventPayloadTest {
+    @Test
+    void shouldReadTopLevelAction() throws IOException {
+        assertThat(CheckRunEventPayload.readAction(read("check-run-event-with-created-action.json")))
+                .isEqualTo("created");
+        assertThat(CheckRunEventPayload.readAction(read("check-run-event-with-rerun-action-for-pr.json")))
+                .isEqualTo("rerequested");
+    }
+
+    @Test
+    void shouldIgnoreNestedActions() throws IOException {
+        assertThat(CheckRunEventPayload.readAction("{\"check_run\": {\"action\": \"rerequested\"}}")).isEmpty();
+        assertThat(CheckRunEventPayload.readAction("{\"check_run\": {\"action\": \"x\"}, \"action\": \"created\"}"))
+                .isEqualTo("created");
+    }
+
+    @Test
+    void shouldParseFieldsOfRerunRequest() throws IOException {
+        CheckRunEventPayload payload = CheckRunEventPayload.parse(read("check-run-event-with-rerun-action-for-pr.json"));
+
+        assertThat(payload.getAction()).isEqualTo("rerequested");
+        assertThat(payload.getExternalId()).isEqualTo("codingstyle/PR-1#2");
+        assertThat(payload.getSenderLogin()).isEqualTo("XiongKezhi");
+        assertThat(payload.getRepositoryFullName()).isEqualTo("XiongKezhi/codingstyle");
+        assertThat(payload.getHeadBranch()).isNotEmpty();
+    }
+
+    @Test
+    void shouldUseEmptyHeadBranchWhenMissing() throws IOException {
+        assertThat(CheckRunEventPayload.parse(
+                read("check-run-event-with-rerun-action-for-pr-missing-check-suite-head-branch.json")).getHeadBranch())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldRejectPayloadWithoutCheckSuite() {
+        assertThatThrownBy(() -> CheckRunEventPayload.parse(
+                read("check-run-event-with-rerun-action-for-pr-missing-check-suite.json")))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldReadApiUriOfCheckSuiteRepository() throws IOException {
+        assertThat(CheckSuiteEventPayload.parse("{\"check_suite\": {\"head_sha\": \"3c0ea12\"}, \"repository\": "
+                + "{\"url\": \"https://github.example.com/api/v3/repos/jenkinsci/repos\"}}").getApiUri())
+                .isEqualTo("https://github.example.com/api/v3");
+        assertThat(CheckSuiteEventPayload.parse(read("check-suite-event-with-rerun-action.json")).getApiUri())
+                .isNull();
+    }
+
+    @Test
+    void shouldRejectPayloadThatIsNoObject() {
+        assertThatThrownBy(() -> CheckRunEventPayload.readAction("[]")).isInstanceOf(IOException.class);
+    }
+
+    private static String read(final String fileName) throws IOException {
+        return IOUtils.toString(CheckRunEventPayloadTest.class.getResource(
+                CheckRunGHEventSubscriberTest.class.getSimpleName() + "/" + fileName), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,169 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
+import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
+import org.kohsuke.github.GHEvent;
+import org.mockito.MockSettings;
+import hudson.model.Job;
+import hudson.model.Run;
+
+import io.jenkins.plugins.util.JenkinsFacade;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Replays recorded webhook payloads through {@link CheckRunGHEventSubscriber#onEvent(GHSubscriberEvent)}. The corpus
+ * is seeded from the resources of {@link CheckRunGHEventSubscriberTest}:
+ * <ul>
+ *     <li>{@code echo}: a check run created by this plugin, which is discarded after reading its action</li>
+ *     <li>{@code large-echo}: the same event with a summary and text of the maximum size</li>
+ *     <li>{@code rerun}: a rerun request of a check run of a pull request</li>
+ *     <li>{@code large-rerun}: the same request with a summary and text of the maximum size</li>
+ *     <li>{@code suite-rerun}: a rerun request of a check suite</li>
+ * </ul>
+ *
+ * <p>
+ * Rerun requests are processed on the calling thread, so a single operation covers the time from the delivery of the
+ * webhook to the call that schedules the build. The job is a plain mock without a running Jenkins, so no item is
+ * actually added to the queue and the time spent in the {@link hudson.model.Queue} is not part of the measurement.
+ * Every request uses another check run or check suite id, so none of them is suppressed as a duplicate, and the rate
+ * limit of reruns is disabled for the forked JVM. Run with the GC profiler (see {@link BenchmarkRunner}) to get the
+ * bytes allocated per event.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(jvmArgsAppend = "-Dio.jenkins.plugins.checks.github.RerunRateLimiter.windowMillis=0")
+public class CheckRunGHEventSubscriberBenchmark {
+    private static final int VARIANTS = 1024;
+    private static final String HEAD_SHA = "3c0ea12c02129ff4919afe087616d84547d93539";
+    private static final Logger SUBSCRIBER_LOGGER = Logger.getLogger(CheckRunGHEventSubscriber.class.getName());
+
+    @Param({"echo", "large-echo", "rerun", "large-rerun", "suite-rerun"})
+    private String payload;
+
+    private CheckRunGHEventSubscriber subscriber;
+    private GHSubscriberEvent[] events;
+    private int next;
+
+    // The repository index only keeps weak references to the jobs
+    private Job<?, ?> job;
+
+    /**
+     * Creates the subscriber with a job of the repository of the payloads that has built the head SHA, and the
+     * variants of the payload.
+     *
+     * @throws IOException
+     *         if the payloads cannot be read
+     */
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() throws IOException {
+        // Logging every scheduled rerun would measure the console
+        SUBSCRIBER_LOGGER.setLevel(Level.WARNING);
+
+        Job mockedJob = mock(Job.class, stubOnly());
+        Run run = mock(Run.class, stubOnly());
+        when(run.getParent()).thenReturn(mockedJob);
+        when(mockedJob.getFullName()).thenReturn("codingstyle/PR-1");
+        when(run.getExternalizableId()).thenReturn("codingstyle/PR-1#1");
+        job = mockedJob;
+
+        GitHubSCMSource source = mock(GitHubSCMSource.class, stubOnly());
+        when(source.getRepoOwner()).thenReturn("XiongKezhi");
+        when(source.getRepository()).thenReturn("codingstyle");
+
+        SCMFacade scmFacade = mock(SCMFacade.class, stubOnly());
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(source));
+        GitHubRepositoryIndex.getRepository(job, scmFacade);
+        RerunBuildIndex.add(run, HEAD_SHA, System.currentTimeMillis());
+
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class, stubOnly());
+        when(jenkinsFacade.getJob(anyString())).thenReturn(Optional.of(job));
+        when(jenkinsFacade.getBuild(anyString())).thenReturn(Optional.of(run));
+        when(jenkinsFacade.getFullNameOf(job)).thenReturn("codingstyle/PR-1");
+
+        subscriber = new CheckRunGHEventSubscriber(jenkinsFacade, scmFacade, Runnable::run,
+                new RerunRequestDeduplicator(null));
+        events = createEvents(payload);
+    }
+
+    private static MockSettings stubOnly() {
+        return withSettings().stubOnly();
+    }
+
+    /**
+     * Handles the next variant of the payload.
+     */
+    @Benchmark
+    public void onEvent() {
+        subscriber.onEvent(events[next]);
+        next = (next + 1) % VARIANTS;
+    }
+
+    private static GHSubscriberEvent[] createEvents(final String type) throws IOException {
+        switch (type) {
+            case "echo":
+                return createEvents(GHEvent.CHECK_RUN, "check-run-event-with-created-action.json", "check_run", false);
+            case "large-echo":
+                return createEvents(GHEvent.CHECK_RUN, "check-run-event-with-created-action.json", "check_run", true);
+            case "rerun":
+                return createEvents(GHEvent.CHECK_RUN, "check-run-event-with-rerun-action-for-pr.json", "check_run",
+                        false);
+            case "large-rerun":
+                return createEvents(GHEvent.CHECK_RUN, "check-run-event-with-rerun-action-for-pr.json", "check_run",
+                        true);
+            case "suite-rerun":
+                return createEvents(GHEvent.CHECK_SUITE, "check-suite-event-with-rerun-action.json", "check_suite",
+                        false);
+            default:
+                throw new IllegalArgumentException("Unknown payload: " + type);
+        }
+    }
+
+    private static GHSubscriberEvent[] createEvents(final GHEvent type, final String file, final String idField,
+            final boolean largeOutput) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root;
+        try (InputStream stream = CheckRunGHEventSubscriberTest.class.getResourceAsStream(
+                CheckRunGHEventSubscriberTest.class.getSimpleName() + "/" + file)) {
+            root = (ObjectNode) mapper.readTree(stream);
+        }
+
+        ObjectNode object = (ObjectNode) root.get(idField);
+        if (largeOutput) {
+            ObjectNode output = object.putObject("output");
+            output.put("title", "4 issues in total");
+            output.put("summary", StringUtils.repeat('#', GitHubChecksDetails.MAX_MESSAGE_SIZE_TO_CHECKS_API));
+            output.put("text", StringUtils.repeat('-', GitHubChecksDetails.MAX_MESSAGE_SIZE_TO_CHECKS_API));
+            output.put("annotations_count", 50);
+        }
+
+        GHSubscriberEvent[] variants = new GHSubscriberEvent[VARIANTS];
+        for (int i = 0; i < VARIANTS; i++) {
+            object.put("id", 1_000_000_000L + i);
+            variants[i] = new GHSubscriberEvent("CheckRunGHEventSubscriberBenchmark", type,
+                    mapper.writeValueAsString(root));
+        }
+        return variants;
+    }
+}
@@ -0,0 +1,60 @@
+package io.jenkins.plugins.checks.github;
+
+import hudson.model.CauseAction;
+import hudson.model.FreeStyleProject;
+import hudson.model.Queue;
+import hudson.model.Run;
+import io.jenkins.plugins.checks.github.CheckRunGHEventSubscriber.GitHubChecksRerunActionCause;
+import io.jenkins.plugins.util.JenkinsFacade;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.kohsuke.github.GHEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link CheckRunGHEventSubscriber}.
+ */
+@WithJenkins
+class CheckRunGHEventSubscriberITest {
+    private static final String RERUN_REQUEST_JSON_FOR_MASTER = "check-run-event-with-rerun-action-for-master.json";
+
+    /**
+     * Reruns of a job that is already waiting in the queue are folded into the queued item by the queue itself, so
+     * the rerun causes are attached to a single build.
+     */
+    @Test
+    void shouldFoldDuplicatedRerunIntoQueuedBuild(JenkinsRule j) throws Exception {
+        FreeStyleProject job = j.createFreeStyleProject("codingstyle");
+        Run<?, ?> run = j.buildAndAssertSuccess(job);
+        job.setQuietPeriod(3600);
+
+        CheckRunGHEventSubscriber subscriber = new CheckRunGHEventSubscriber(new JenkinsFacade(), new SCMFacade());
+        subscriber.onEvent(createEventWithRerunRequest(run, 1));
+        subscriber.onEvent(createEventWithRerunRequest(run, 2));
+
+        Queue.Item[] items = j.jenkins.getQueue().getItems();
+        assertThat(items).hasSize(1);
+        assertThat(items[0].getAction(CauseAction.class).getCauses())
+                .filteredOn(GitHubChecksRerunActionCause.class::isInstance)
+                .hasSize(2);
+    }
+
+    private static GHSubscriberEvent createEventWithRerunRequest(final Run<?, ?> run, final long checkRunId)
+            throws IOException {
+        try (InputStream stream = CheckRunGHEventSubscriberTest.class.getResourceAsStream(
+                CheckRunGHEventSubscriberTest.class.getSimpleName() + "/" + RERUN_REQUEST_JSON_FOR_MASTER)) {
+            String payload = IOUtils.toString(stream, StandardCharsets.UTF_8)
+                    .replace("\"id\": 993663296", "\"id\": " + checkRunId)
+                    .replace("codingstyle/master#8", run.getExternalizableId());
+            return new GHSubscriberEvent("CheckRunGHEventSubscriberITest", GHEvent.CHECK_RUN, payload);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.jenkins.plugins.checks.github;
 
+import hudson.XmlFile;
 import hudson.model.Item;
 import hudson.model.Job;
 import hudson.model.ParametersAction;
@@ -10,18 +11,37 @@ import org.apache.commons.io.FileUtils;
 import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
 import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.jvnet.hudson.test.LogRecorder;
 import org.kohsuke.github.GHEvent;
+import org.mockito.ArgumentCaptor;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class CheckRunGHEventSubscriberTest {
@@ -29,11 +49,14 @@ class CheckRunGHEventSubscriberTest {
     private static final String RERUN_REQUEST_JSON_FOR_PR = "check-run-event-with-rerun-action-for-pr.json";
     private static final String RERUN_REQUEST_JSON_FOR_MASTER = "check-run-event-with-rerun-action-for-master.json";
     private static final String RERUN_REQUEST_JSON_FOR_PR_MISSING_CHECKSUITE = "check-run-event-with-rerun-action-for-pr-missing-check-suite.json";
+    private static final String RERUN_REQUEST_JSON_FOR_CHECK_SUITE = "check-suite-event-with-rerun-action.json";
+    private static final String HEAD_SHA = "3c0ea12c02129ff4919afe087616d84547d93539";
     private static final String RERUN_REQUEST_JSON_FOR_PR_MISSING_CHECKSUITE_HEAD_BRANCH = "check-run-event-with-rerun-action-for-pr-missing-check-suite-head-branch.json";
 
     @Test
     void shouldBeApplicableForJobWithGitHubSCMSource() {
         Job<?, ?> job = mock(Job.class);
+        when(job.getFullName()).thenReturn("codingstyle/applicable");
         JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
         SCMFacade scmFacade = mock(SCMFacade.class);
         GitHubSCMSource source = mock(GitHubSCMSource.class);
@@ -47,6 +70,7 @@ class CheckRunGHEventSubscriberTest {
     @Test
     void shouldNotBeApplicableForJobWithoutGitHubSCMSource() {
         Job<?, ?> job = mock(Job.class);
+        when(job.getFullName()).thenReturn("codingstyle/not-applicable");
         assertThat(new CheckRunGHEventSubscriber().isApplicable(job))
                 .isFalse();
     }
@@ -60,7 +84,7 @@ class CheckRunGHEventSubscriberTest {
 
     @Test
     void shouldSubscribeToCheckRunEvent() {
-        assertThat(new CheckRunGHEventSubscriber().events()).containsOnly(GHEvent.CHECK_RUN);
+        assertThat(new CheckRunGHEventSubscriber().events()).containsOnly(GHEvent.CHECK_RUN, GHEvent.CHECK_SUITE);
     }
 
     @Test
@@ -106,6 +130,7 @@ class CheckRunGHEventSubscriberTest {
         JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
         SCMFacade scmFacade = mock(SCMFacade.class);
 
+        when(jenkinsFacade.getJob("codingstyle/PR-1")).thenReturn(Optional.of(job));
         when(jenkinsFacade.getBuild("codingstyle/PR-1#2")).thenReturn(Optional.of(run));
         when(jenkinsFacade.getFullNameOf(job)).thenReturn("codingstyle/PR-1");
         when(run.getParent()).thenReturn(job);
@@ -130,6 +155,7 @@ class CheckRunGHEventSubscriberTest {
         JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
         SCMFacade scmFacade = mock(SCMFacade.class);
 
+        when(jenkinsFacade.getJob("codingstyle/master")).thenReturn(Optional.of(job));
         when(jenkinsFacade.getBuild("codingstyle/master#8")).thenReturn(Optional.of(run));
         when(jenkinsFacade.getFullNameOf(job)).thenReturn("codingstyle/master");
         when(run.getParent()).thenReturn(job);
@@ -145,15 +171,248 @@ class CheckRunGHEventSubscriberTest {
         }
     }
 
+    @Test
+    void shouldScheduleRerunFromIndexWithoutLoadingBuild() throws IOException {
+        Job job = mock(Job.class);
+        Run run = mock(Run.class);
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+
+        when(run.getParent()).thenReturn(job);
+        when(run.getExternalizableId()).thenReturn("codingstyle/PR-1#2");
+        when(jenkinsFacade.getFullNameOf(job)).thenReturn("codingstyle/PR-1");
+        when(job.getNextBuildNumber()).thenReturn(3);
+
+        RerunBuildIndex.add(run, System.currentTimeMillis());
+        try (LogRecorder logRecorder = new LogRecorder().record(CheckRunGHEventSubscriber.class.getName(), Level.INFO).capture(1)) {
+            new CheckRunGHEventSubscriber(jenkinsFacade, mock(SCMFacade.class))
+                    .onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+            assertThat(logRecorder.getMessages())
+                    .contains("Scheduled rerun (build #3) for job codingstyle/PR-1, requested by XiongKezhi");
+            verify(jenkinsFacade, never()).getBuild(anyString());
+        }
+        finally {
+            RerunBuildIndex.clear();
+        }
+    }
+
     @Test
     void shouldNotScheduleRerunWhenNoProperBuildFound() throws IOException {
         JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getJob("codingstyle/PR-1")).thenReturn(Optional.of(mock(Job.class)));
         when(jenkinsFacade.getBuild("codingstyle/PR-1#2")).thenReturn(Optional.empty());
 
         assertNoBuildIsScheduled(jenkinsFacade, mock(SCMFacade.class),
                 createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
     }
 
+    @Test
+    void shouldRejectRerunOfUnknownJobWithoutLoadingBuild() throws IOException {
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getJob("codingstyle/PR-1")).thenReturn(Optional.empty());
+
+        assertNoBuildIsScheduled(jenkinsFacade, mock(SCMFacade.class),
+                createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+        verify(jenkinsFacade, never()).getBuild(anyString());
+    }
+
+    @Test
+    void shouldOnlyQueueEventWhenDelivered() throws IOException {
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getJob("codingstyle/PR-1")).thenReturn(Optional.of(mock(Job.class)));
+        List<Runnable> queue = new ArrayList<>();
+
+        new CheckRunGHEventSubscriber(jenkinsFacade, mock(SCMFacade.class), queue::add)
+                .onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+        assertThat(queue).hasSize(1);
+        verify(jenkinsFacade, never()).getBuild(anyString());
+
+        queue.get(0).run();
+        verify(jenkinsFacade).getBuild("codingstyle/PR-1#2");
+    }
+
+    @Test
+    void shouldCountDroppedEventsWhenQueueIsFull() throws IOException {
+        CheckRunGHEventSubscriber subscriber = new CheckRunGHEventSubscriber(mock(JenkinsFacade.class),
+                mock(SCMFacade.class), command -> {
+                    throw new RejectedExecutionException("full");
+                });
+
+        try (LogRecorder logRecorder = new LogRecorder().record(CheckRunGHEventSubscriber.class.getName(), Level.WARNING).capture(2)) {
+            subscriber.onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+            subscriber.onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+
+            assertThat(subscriber.getDroppedEvents()).isEqualTo(2);
+            assertThat(logRecorder.getMessages()).anySatisfy(
+                    message -> assertThat(message).contains("2 events dropped in total"));
+        }
+    }
+
+    @Test
+    void shouldIgnoreDuplicatedRerunRequest() throws IOException {
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getJob("codingstyle/PR-1")).thenReturn(Optional.of(mock(Job.class)));
+        CheckRunGHEventSubscriber subscriber = new CheckRunGHEventSubscriber(jenkinsFacade, mock(SCMFacade.class));
+
+        subscriber.onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+        try (LogRecorder logRecorder = new LogRecorder().record(CheckRunGHEventSubscriber.class.getName(), Level.INFO).capture(1)) {
+            subscriber.onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+            assertThat(logRecorder.getMessages())
+                    .contains("Ignored duplicated rerun request for id: codingstyle/PR-1#2, 1 duplicates suppressed in total");
+        }
+
+        verify(jenkinsFacade, times(1)).getBuild("codingstyle/PR-1#2");
+        assertThat(subscriber.getSuppressedDuplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAcceptRerunRequestAgainAfterTimeWindow() {
+        RerunRequestDeduplicator deduplicator = new RerunRequestDeduplicator(null);
+
+        assertThat(deduplicator.register("job#1@42", 0)).isTrue();
+        assertThat(deduplicator.register("job#1@42", 1000)).isFalse();
+        assertThat(deduplicator.register("job#1@43", 1000)).isTrue();
+        assertThat(deduplicator.register("job#1@42", TimeUnit.HOURS.toMillis(1))).isTrue();
+        assertThat(deduplicator.getSuppressedDuplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreRedeliveredWebhookAfterTimeWindowOfRequests() {
+        RerunRequestDeduplicator deduplicator = new RerunRequestDeduplicator(null);
+
+        assertThat(deduplicator.registerDelivery("72d3162e-cc78-11e3-81ab-4c9367dc0958", 0)).isTrue();
+        assertThat(deduplicator.registerDelivery("72d3162e-cc78-11e3-81ab-4c9367dc0958",
+                TimeUnit.HOURS.toMillis(1))).isFalse();
+        assertThat(deduplicator.registerDelivery("72d3162e-cc78-11e3-81ab-4c9367dc0958",
+                TimeUnit.DAYS.toMillis(2))).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreRedeliveredRerunRequest() throws IOException {
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        when(jenkinsFacade.getJob("codingstyle/PR-1")).thenReturn(Optional.of(mock(Job.class)));
+        CheckRunGHEventSubscriber subscriber = new CheckRunGHEventSubscriber(jenkinsFacade, mock(SCMFacade.class));
+
+        subscriber.onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR), "delivery-1");
+        subscriber.onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR), "delivery-1");
+
+        verify(jenkinsFacade, times(1)).getBuild("codingstyle/PR-1#2");
+        assertThat(subscriber.getSuppressedDuplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPersistAcceptedRerunRequestsInBackground(@TempDir final Path directory) {
+        XmlFile file = new XmlFile(directory.resolve("reruns.xml").toFile());
+        ScheduledExecutorService saver = mock(ScheduledExecutorService.class);
+        RerunRequestDeduplicator deduplicator = new RerunRequestDeduplicator(file, saver);
+
+        assertThat(deduplicator.register("job#1@42", 0)).isTrue();
+        assertThat(deduplicator.register("job#1@43", 0)).isTrue();
+        assertThat(file.exists()).isFalse();
+
+        ArgumentCaptor<Runnable> save = ArgumentCaptor.forClass(Runnable.class);
+        verify(saver, times(1)).schedule(save.capture(), anyLong(), any(TimeUnit.class));
+        save.getValue().run();
+
+        assertThat(file.exists()).isTrue();
+        assertThat(new RerunRequestDeduplicator(file, saver).register("job#1@43", 1000)).isFalse();
+    }
+
+    @Test
+    void shouldScheduleRerunOfCheckSuiteOnceForEachJobThatBuiltTheHeadCommit() throws IOException {
+        GitHubSCMSource source = mock(GitHubSCMSource.class);
+        when(source.getRepoOwner()).thenReturn("XiongKezhi");
+        when(source.getRepository()).thenReturn("codingstyle");
+
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        SCMFacade scmFacade = mock(SCMFacade.class);
+
+        try {
+            Job branch = createJobWithBuilds(scmFacade, source, "codingstyle/simplify-jenkinsfile", HEAD_SHA, HEAD_SHA);
+            Job pullRequest = createJobWithBuilds(scmFacade, source, "codingstyle/PR-1", "4d1fb23", HEAD_SHA);
+            Job master = createJobWithBuilds(scmFacade, source, "codingstyle/master", "2a5453f");
+            when(jenkinsFacade.getFullNameOf(branch)).thenReturn("codingstyle/simplify-jenkinsfile");
+            when(jenkinsFacade.getFullNameOf(pullRequest)).thenReturn("codingstyle/PR-1");
+            when(jenkinsFacade.getFullNameOf(master)).thenReturn("codingstyle/master");
+
+            try (LogRecorder logRecorder = new LogRecorder().record(CheckRunGHEventSubscriber.class.getName(), Level.INFO).capture(5)) {
+                new CheckRunGHEventSubscriber(jenkinsFacade, scmFacade)
+                        .onEvent(createEvent(GHEvent.CHECK_SUITE, RERUN_REQUEST_JSON_FOR_CHECK_SUITE));
+
+                assertThat(logRecorder.getMessages())
+                        .containsOnlyOnce("Scheduled rerun (build #1) for job codingstyle/simplify-jenkinsfile, requested by XiongKezhi")
+                        .containsOnlyOnce("Scheduled rerun (build #1) for job codingstyle/PR-1, requested by XiongKezhi")
+                        .noneMatch(message -> message.contains("codingstyle/master"));
+            }
+            verify(jenkinsFacade, never()).getBuild(anyString());
+            verify(branch, never()).getLastBuild();
+        }
+        finally {
+            RerunBuildIndex.clear();
+        }
+    }
+
+    @Test
+    void shouldOnlyIgnoreRedeliveredCheckSuiteRerunRequest() throws IOException {
+        GitHubSCMSource source = mock(GitHubSCMSource.class);
+        when(source.getRepoOwner()).thenReturn("XiongKezhi");
+        when(source.getRepository()).thenReturn("codingstyle");
+
+        JenkinsFacade jenkinsFacade = mock(JenkinsFacade.class);
+        SCMFacade scmFacade = mock(SCMFacade.class);
+
+        try {
+            Job branch = createJobWithBuilds(scmFacade, source, "codingstyle/simplify-jenkinsfile", HEAD_SHA);
+            when(jenkinsFacade.getFullNameOf(branch)).thenReturn("codingstyle/simplify-jenkinsfile");
+            CheckRunGHEventSubscriber subscriber = new CheckRunGHEventSubscriber(jenkinsFacade, scmFacade);
+
+            subscriber.onEvent(createEvent(GHEvent.CHECK_SUITE, RERUN_REQUEST_JSON_FOR_CHECK_SUITE), "delivery-1");
+            subscriber.onEvent(createEvent(GHEvent.CHECK_SUITE, RERUN_REQUEST_JSON_FOR_CHECK_SUITE), "delivery-1");
+            subscriber.onEvent(createEvent(GHEvent.CHECK_SUITE, RERUN_REQUEST_JSON_FOR_CHECK_SUITE), "delivery-2");
+
+            verify(branch, times(2)).getNextBuildNumber();
+            assertThat(subscriber.getSuppressedDuplicates()).isEqualTo(1);
+        }
+        finally {
+            RerunBuildIndex.clear();
+        }
+    }
+
+    @Test
+    void shouldLimitRerunsPerJobWithinTimeWindow() {
+        RerunRateLimiter rateLimiter = new RerunRateLimiter(2, 1000);
+
+        assertThat(rateLimiter.tryAcquire("codingstyle/master", 0)).isTrue();
+        assertThat(rateLimiter.tryAcquire("codingstyle/master", 10)).isTrue();
+        assertThat(rateLimiter.tryAcquire("codingstyle/master", 20)).isFalse();
+        assertThat(rateLimiter.tryAcquire("codingstyle/PR-1", 20)).isTrue();
+        assertThat(rateLimiter.tryAcquire("codingstyle/master", 1000)).isTrue();
+        assertThat(rateLimiter.tryAcquire("codingstyle/master", 1001)).isFalse();
+        assertThat(rateLimiter.getLimitedReruns()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRecordFlightRecorderEventForDeliveredEvent() throws IOException {
+        Path dump = Files.createTempFile("github-checks", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.jenkins.plugins.checks.github.WebhookEvent");
+            recording.start();
+            new CheckRunGHEventSubscriber(mock(JenkinsFacade.class), mock(SCMFacade.class), command -> { })
+                    .onEvent(createEventWithRerunRequest(RERUN_REQUEST_JSON_FOR_PR));
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            assertThat(events).singleElement().satisfies(event -> {
+                assertThat(event.getString("event")).isEqualTo("CHECK_RUN");
+                assertThat(event.getLong("payloadSize")).isPositive();
+                assertThat(event.getBoolean("queued")).isTrue();
+            });
+        }
+        finally {
+            Files.delete(dump);
+        }
+    }
+
     @Test
     void shouldContainsUserAndBranchInShortDescriptionOfGitHubChecksRerunActionCause() {
         CheckRunGHEventSubscriber.GitHubChecksRerunActionCause cause =
@@ -179,8 +438,34 @@ class CheckRunGHEventSubscriberTest {
         }
     }
 
+    /**
+     * Creates a job whose builds (from latest to oldest) have been built from the given commits and adds them to the
+     * {@link RerunBuildIndex}.
+     */
+    private static Job createJobWithBuilds(final SCMFacade scmFacade, final GitHubSCMSource source,
+                                           final String name, final String... hashes) {
+        Job job = mock(Job.class);
+        when(job.getFullName()).thenReturn(name);
+        when(job.getNextBuildNumber()).thenReturn(1);
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(source));
+
+        for (int i = hashes.length - 1; i >= 0; i--) {
+            Run run = mock(Run.class);
+            when(run.getParent()).thenReturn(job);
+            when(run.getExternalizableId()).thenReturn(name + "#" + (hashes.length - i));
+            RerunBuildIndex.add(run, hashes[i], System.currentTimeMillis());
+        }
+
+        assertThat(GitHubRepositoryIndex.getRepository(job, scmFacade)).contains("xiongkezhi/codingstyle");
+        return job;
+    }
+
     private static GHSubscriberEvent createEventWithRerunRequest(final String jsonFile) throws IOException {
-        return new GHSubscriberEvent("CheckRunGHEventSubscriberTest", GHEvent.CHECK_RUN,
+        return createEvent(GHEvent.CHECK_RUN, jsonFile);
+    }
+
+    private static GHSubscriberEvent createEvent(final GHEvent type, final String jsonFile) throws IOException {
+        return new GHSubscriberEvent("CheckRunGHEventSubscriberTest", type,
                 FileUtils.readFileToString(new File(CheckRunGHEventSubscriberTest.class.getResource(
                         CheckRunGHEventSubscriberTest.class.getSimpleName() + "/" + jsonFile).getFile()), StandardCharsets.UTF_8));
     }
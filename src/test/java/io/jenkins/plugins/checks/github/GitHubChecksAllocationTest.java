@@ -0,0 +1,235 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import org.jenkinsci.plugins.github_branch_source.GitHubAppCredentials;
+import org.kohsuke.github.GHCheckRun;
+import org.kohsuke.github.GHCheckRunBuilder;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.mockito.MockSettings;
+import hudson.model.Job;
+import hudson.model.Run;
+
+import io.jenkins.plugins.checks.api.ChecksAction;
+import io.jenkins.plugins.checks.api.ChecksAnnotation.ChecksAnnotationBuilder;
+import io.jenkins.plugins.checks.api.ChecksAnnotation.ChecksAnnotationLevel;
+import io.jenkins.plugins.checks.api.ChecksConclusion;
+import io.jenkins.plugins.checks.api.ChecksDetails;
+import io.jenkins.plugins.checks.api.ChecksDetails.ChecksDetailsBuilder;
+import io.jenkins.plugins.checks.api.ChecksImage;
+import io.jenkins.plugins.checks.api.ChecksOutput.ChecksOutputBuilder;
+import io.jenkins.plugins.checks.api.ChecksStatus;
+import io.jenkins.plugins.util.PluginLogger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies that publishing a check and converting its details stay within the allocation budgets recorded in
+ * {@code GitHubChecksAllocationTest/budgets.properties}. The bytes allocated by the calling thread are averaged over
+ * many iterations after a warm-up, so that the JIT has compiled the hot path. Since the allocations depend on the JVM
+ * and the versions of the dependencies, the budgets are only checked in the {@code benchmark} profile (system property
+ * {@code allocation.budgets}) and may be exceeded by the factor given in the system property
+ * {@code allocation.tolerance} (default 1.5).
+ */
+class GitHubChecksAllocationTest {
+    private static final String REPOSITORY = "jenkinsci/github-checks-plugin";
+    private static final String HEAD_SHA = "18c8e2fd86e7aa3748e279c14a00dc3f0b963e7f";
+    private static final String BUDGETS_ENABLED = "allocation.budgets";
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("allocation.tolerance", "1.5"));
+
+    private static Properties budgets;
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        budgets = new Properties();
+        try (InputStream stream = GitHubChecksAllocationTest.class.getResourceAsStream(
+                GitHubChecksAllocationTest.class.getSimpleName() + "/budgets.properties")) {
+            budgets.load(stream);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = BUDGETS_ENABLED, matches = "true")
+    void shouldPublishWithinAllocationBudget() throws IOException {
+        GitHubChecksPublisher publisher = createPublisher(mock(Job.class, stubOnly()));
+        ChecksDetails details = createDetails();
+
+        assertThat(measureAllocatedBytes(() -> publisher.publish(details), 2000, 1000))
+                .isLessThanOrEqualTo(getBudget("publish"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = BUDGETS_ENABLED, matches = "true")
+    void shouldConvertOutputWithinAllocationBudget() {
+        GitHubChecksDetails details = new GitHubChecksDetails(
+                GitHubChecksDetailsBenchmark.createDetails(1000, 10, GitHubChecksDetails.MAX_MESSAGE_SIZE_TO_CHECKS_API));
+
+        assertThat(measureAllocatedBytes(details::getOutput, 200, 100))
+                .isLessThanOrEqualTo(getBudget("details.output"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = BUDGETS_ENABLED, matches = "true")
+    void shouldConvertActionsWithinAllocationBudget() {
+        GitHubChecksDetails details = new GitHubChecksDetails(createDetails());
+
+        assertThat(measureAllocatedBytes(details::getActions, 10_000, 10_000))
+                .isLessThanOrEqualTo(getBudget("details.actions"));
+    }
+
+    @Test
+    void shouldNotFormatFineLogMessageIfFineIsDisabled() throws IOException {
+        Job<?, ?> job = mock(Job.class);
+        Logger logger = Logger.getLogger(GitHubChecksPublisher.class.getName());
+        Level level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        try {
+            createPublisher(job).publish(createDetails());
+        }
+        finally {
+            logger.setLevel(level);
+        }
+
+        verify(job, never()).getFullName();
+    }
+
+    private static long measureAllocatedBytes(final Runnable operation, final int warmUp, final int iterations) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "Allocated bytes of threads are not available in this JVM");
+
+        for (int i = 0; i < warmUp; i++) {
+            operation.run();
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / iterations;
+    }
+
+    private static long getBudget(final String operation) {
+        return (long) (Long.parseLong(budgets.getProperty(operation)) * TOLERANCE);
+    }
+
+    private static MockSettings stubOnly() {
+        return withSettings().stubOnly();
+    }
+
+    private static GitHubChecksPublisher createPublisher(final Job<?, ?> job) throws IOException {
+        GHCheckRunBuilder builder = mock(GHCheckRunBuilder.class, stubOnly().defaultAnswer(RETURNS_SELF));
+        doReturn(mock(GHCheckRun.class, stubOnly())).when(builder).create();
+        GHRepository repository = mock(GHRepository.class, stubOnly());
+        when(repository.createCheckRun("Jenkins", HEAD_SHA)).thenReturn(builder);
+        GitHub gitHub = mock(GitHub.class, stubOnly());
+        when(gitHub.getRepository(REPOSITORY)).thenReturn(repository);
+
+        StandardUsernameCredentials credentials = mock(GitHubAppCredentials.class, stubOnly());
+        PluginLogger buildLogger = new PluginLogger(new PrintStream(OutputStream.nullOutputStream(), false,
+                StandardCharsets.UTF_8), "GitHub Checks");
+
+        return new GitHubChecksPublisher(new StubContext(job, credentials), buildLogger, "https://github.example.com/") {
+            @Override
+            GitHub connect(final String apiUri, final StandardUsernameCredentials ignored) {
+                return gitHub;
+            }
+        };
+    }
+
+    private static ChecksDetails createDetails() {
+        return new ChecksDetailsBuilder()
+                .withName("Jenkins")
+                .withStatus(ChecksStatus.COMPLETED)
+                .withConclusion(ChecksConclusion.SUCCESS)
+                .withDetailsURL("https://ci.jenkins.io")
+                .withOutput(new ChecksOutputBuilder()
+                        .withTitle("Jenkins Check")
+                        .withSummary("# A Successful Build")
+                        .withText("## 0 Failures")
+                        .withAnnotations(Arrays.asList(
+                                new ChecksAnnotationBuilder()
+                                        .withPath("Jenkinsfile")
+                                        .withLine(1)
+                                        .withAnnotationLevel(ChecksAnnotationLevel.NOTICE)
+                                        .withMessage("say hello to Jenkins")
+                                        .build(),
+                                new ChecksAnnotationBuilder()
+                                        .withPath("Jenkinsfile")
+                                        .withLine(2)
+                                        .withAnnotationLevel(ChecksAnnotationLevel.WARNING)
+                                        .withMessage("say hello to GitHub Checks API")
+                                        .build()))
+                        .withImages(Collections.singletonList(new ChecksImage("Jenkins",
+                                "https://ci.jenkins.io/static/cd5757a8/images/jenkins-header-logo-v2.svg",
+                                "Jenkins Symbol")))
+                        .build())
+                .withActions(Collections.singletonList(new ChecksAction("re-run", "re-run Jenkins build", "#0")))
+                .build();
+    }
+
+    /**
+     * A context without a run, so that publishing neither records actions nor looks up existing check runs.
+     */
+    private static class StubContext extends GitHubChecksContext {
+        private final StandardUsernameCredentials credentials;
+
+        StubContext(final Job<?, ?> job, final StandardUsernameCredentials credentials) {
+            super(job, "https://ci.jenkins.io", new SCMFacade());
+
+            this.credentials = credentials;
+        }
+
+        @Override
+        public String getHeadSha() {
+            return HEAD_SHA;
+        }
+
+        @Override
+        public String getRepository() {
+            return REPOSITORY;
+        }
+
+        @Override
+        public boolean isValid(final FilteredLog logger) {
+            return true;
+        }
+
+        @Override
+        protected String getCredentialsId() {
+            return "github-app";
+        }
+
+        @Override
+        public StandardUsernameCredentials getCredentials() {
+            return credentials;
+        }
+
+        @Override
+        protected Optional<Run<?, ?>> getRun() {
+            return Optional.empty();
+        }
+    }
+}
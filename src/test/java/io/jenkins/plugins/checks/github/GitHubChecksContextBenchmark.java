@@ -0,0 +1,281 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
+import org.jenkinsci.plugins.github_branch_source.PullRequestSCMRevision;
+import org.mockito.MockSettings;
+import hudson.model.FreeStyleProject;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.plugins.git.GitSCM;
+import hudson.plugins.git.Revision;
+import hudson.plugins.git.UserRemoteConfig;
+import hudson.plugins.git.extensions.GitSCMExtension;
+import hudson.plugins.git.util.Build;
+import hudson.plugins.git.util.BuildData;
+import hudson.util.DescribableList;
+import jenkins.scm.api.SCMRevisionAction;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.trait.SCMSourceTrait;
+
+import io.jenkins.plugins.checks.github.status.GitHubChecksJobConfiguration;
+import io.jenkins.plugins.checks.github.status.GitHubSCMSourceStatusChecksTrait;
+import io.jenkins.plugins.checks.github.status.GitSCMStatusChecksExtension;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures how the contexts resolve the repository and the head SHA of a run, the {@link SCMFacade} lookups behind
+ * them, and the configuration lookup of {@link io.jenkins.plugins.checks.github.status.GitHubStatusChecksProperties},
+ * all of which run several times per build. Jobs, runs and SCMs are stub-only mocks, so they neither record
+ * invocations nor allocate per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class GitHubChecksContextBenchmark {
+    private static final String HEAD_SHA = "4ecc8623b06d99d5f029b66927438554fdd6a467";
+    private static final String URL = "https://ci.jenkins.io/job/plugins/job/github-checks-plugin/job/main/1/";
+    private static final List<String> ENTERPRISE_API_URIS
+            = Collections.singletonList("https://github.example.com/api/v3");
+
+    @Param({"0", "10", "50"})
+    private int traits;
+
+    @Param({
+            "https://github.com/jenkinsci/github-checks-plugin.git",
+            "git@github.com:jenkinsci/github-checks-plugin.git",
+            "ssh://git@github.example.com:7999/jenkinsci/github-checks-plugin.git"
+    })
+    private String remote;
+
+    private Job<?, ?> gitJob;
+    private Run<?, ?> gitRun;
+    private SCMFacade gitFacade;
+    private GitSCMChecksContext gitContext;
+
+    private Job<?, ?> gitHubJob;
+    private Run<?, ?> gitHubRun;
+    private SCMFacade gitHubFacade;
+    private GitHubSCMSourceChecksContext gitHubContext;
+
+    /**
+     * Creates a Freestyle job that uses a {@link GitSCM} and a multibranch job that uses a {@link GitHubSCMSource},
+     * each configured with the given number of other traits or extensions before the checks configuration.
+     */
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+        List<GitSCMExtension> extensions = new ArrayList<>();
+        for (int i = 0; i < traits; i++) {
+            extensions.add(mock(GitSCMExtension.class, stubOnly()));
+        }
+        extensions.add(new GitSCMStatusChecksExtension());
+        GitSCM scm = mock(GitSCM.class, stubOnly());
+        when(scm.getUserRemoteConfigs()).thenReturn(Collections.singletonList(
+                new UserRemoteConfig(remote, "origin", null, "github-app")));
+        when(scm.getExtensions()).thenReturn(new DescribableList(null, extensions));
+
+        FreeStyleProject project = mock(FreeStyleProject.class, stubOnly());
+        when(project.getScm()).thenReturn(scm);
+        gitJob = project;
+
+        BuildData buildData = mock(BuildData.class, stubOnly());
+        Build lastBuild = mock(Build.class, stubOnly());
+        buildData.lastBuild = lastBuild;
+        when(lastBuild.getBuildNumber()).thenReturn(1);
+        when(lastBuild.getRevision()).thenReturn(new Revision(ObjectId.fromString(HEAD_SHA)));
+        Run run = mock(Run.class, stubOnly());
+        when(run.getParent()).thenReturn(gitJob);
+        when(run.getNumber()).thenReturn(1);
+        when(run.getAction(BuildData.class)).thenReturn(buildData);
+        gitRun = run;
+
+        gitFacade = new BenchmarkSCMFacade(null);
+        gitContext = new GitSCMChecksContext(gitRun, URL, gitFacade);
+
+        List<SCMSourceTrait> sourceTraits = new ArrayList<>();
+        for (int i = 0; i < traits; i++) {
+            sourceTraits.add(mock(SCMSourceTrait.class, stubOnly()));
+        }
+        sourceTraits.add(new GitHubSCMSourceStatusChecksTrait());
+        GitHubSCMSource source = mock(GitHubSCMSource.class, stubOnly());
+        when(source.getId()).thenReturn("github-checks-plugin");
+        when(source.getRepoOwner()).thenReturn("jenkinsci");
+        when(source.getRepository()).thenReturn("github-checks-plugin");
+        when(source.getCredentialsId()).thenReturn("github-app");
+        when(source.getTraits()).thenReturn(sourceTraits);
+
+        PullRequestSCMRevision revision = mock(PullRequestSCMRevision.class, stubOnly());
+        when(revision.getPullHash()).thenReturn(HEAD_SHA);
+
+        gitHubJob = mock(Job.class, stubOnly());
+        Run pullRequestRun = mock(Run.class, stubOnly());
+        when(pullRequestRun.getParent()).thenReturn(gitHubJob);
+        when(pullRequestRun.getActions(SCMRevisionAction.class)).thenReturn(
+                Collections.singletonList(new SCMRevisionAction(source, revision)));
+        gitHubRun = pullRequestRun;
+
+        gitHubFacade = new BenchmarkSCMFacade(source);
+        gitHubContext = GitHubSCMSourceChecksContext.fromRun(gitHubRun, URL, gitHubFacade);
+    }
+
+    private static MockSettings stubOnly() {
+        return withSettings().stubOnly();
+    }
+
+    /**
+     * Resolves the repository from the URL of the Git remote.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void gitRepository(final Blackhole blackhole) {
+        blackhole.consume(gitContext.getRepository());
+    }
+
+    /**
+     * Resolves the head SHA from the build data of the run.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void gitHeadSha(final Blackhole blackhole) {
+        blackhole.consume(gitContext.getHeadSha());
+    }
+
+    /**
+     * Resolves the API URI of a GitHub Enterprise server from the URL of the Git remote.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void gitApiUri(final Blackhole blackhole) {
+        blackhole.consume(gitContext.getApiUri());
+    }
+
+    /**
+     * Creates a context for a run of a GitHub Branch Source project, which resolves the head SHA.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void gitHubContextFromRun(final Blackhole blackhole) {
+        blackhole.consume(GitHubSCMSourceChecksContext.fromRun(gitHubRun, URL, gitHubFacade));
+    }
+
+    /**
+     * Resolves the repository from the GitHub SCM source.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void gitHubRepository(final Blackhole blackhole) {
+        blackhole.consume(gitHubContext.getRepository());
+    }
+
+    /**
+     * Finds the cached {@link GitSCM} of a run.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void findGitSCMCached(final Blackhole blackhole) {
+        blackhole.consume(gitFacade.findGitSCM(gitRun));
+    }
+
+    /**
+     * Finds the {@link GitSCM} of a run after the cache has been invalidated, e.g. by a checkout.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void findGitSCMUncached(final Blackhole blackhole) {
+        SCMFacade.invalidate(gitJob);
+        blackhole.consume(gitFacade.findGitSCM(gitRun));
+    }
+
+    /**
+     * Finds the revision of a pull request run and its hash.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void findRevisionHash(final Blackhole blackhole) {
+        blackhole.consume(gitHubFacade.findGitHubSCMSource(gitHubJob)
+                .flatMap(source -> gitHubFacade.findRevision(source, gitHubRun))
+                .flatMap(gitHubFacade::findHash));
+    }
+
+    /**
+     * Looks up the checks configuration of the Git SCM extensions, as done by every
+     * {@link io.jenkins.plugins.checks.github.status.GitHubStatusChecksProperties} call.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void gitConfiguration(final Blackhole blackhole) {
+        blackhole.consume(GitHubChecksJobConfiguration.of(gitJob, gitFacade).getName());
+    }
+
+    /**
+     * Looks up the checks configuration of the GitHub SCM source traits, as done by every
+     * {@link io.jenkins.plugins.checks.github.status.GitHubStatusChecksProperties} call.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void gitHubConfiguration(final Blackhole blackhole) {
+        blackhole.consume(GitHubChecksJobConfiguration.of(gitHubJob, gitHubFacade).getName());
+    }
+
+    /**
+     * Finding the SCM source of a job and the configured GitHub Enterprise servers requires a running Jenkins, so the
+     * benchmark provides them directly. All other lookups are the ones of {@link SCMFacade}.
+     */
+    private static final class BenchmarkSCMFacade extends SCMFacade {
+        @CheckForNull
+        private final SCMSource source;
+
+        BenchmarkSCMFacade(@CheckForNull final SCMSource source) {
+            super();
+
+            this.source = source;
+        }
+
+        @Override
+        @CheckForNull
+        public SCMSource findSCMSource(final Job<?, ?> job) {
+            return source;
+        }
+
+        @Override
+        public List<String> getGitHubEnterpriseApiUris() {
+            return ENTERPRISE_API_URIS;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.jenkins.plugins.checks.github;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubChecksCostActionTest {
+    @Test
+    void shouldCountUtf8LengthWithoutEncoding() {
+        for (String text : new String[]{"", "Jenkins", "Größe", "日本語", "build 🚀 passed"}) {
+            assertThat(GitHubChecksCostAction.utf8Length(text))
+                    .as(text)
+                    .isEqualTo(text.getBytes(StandardCharsets.UTF_8).length);
+        }
+    }
+
+    @Test
+    void shouldCountUnpairedSurrogateLikeReplacementCharacter() {
+        assertThat(GitHubChecksCostAction.utf8Length("a\uD83Db")).isEqualTo(5);
+    }
+}
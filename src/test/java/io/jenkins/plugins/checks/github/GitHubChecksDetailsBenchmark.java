@@ -0,0 +1,123 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.jenkins.plugins.checks.api.ChecksAction;
+import io.jenkins.plugins.checks.api.ChecksAnnotation;
+import io.jenkins.plugins.checks.api.ChecksAnnotation.ChecksAnnotationBuilder;
+import io.jenkins.plugins.checks.api.ChecksAnnotation.ChecksAnnotationLevel;
+import io.jenkins.plugins.checks.api.ChecksConclusion;
+import io.jenkins.plugins.checks.api.ChecksDetails;
+import io.jenkins.plugins.checks.api.ChecksDetails.ChecksDetailsBuilder;
+import io.jenkins.plugins.checks.api.ChecksImage;
+import io.jenkins.plugins.checks.api.ChecksOutput.ChecksOutputBuilder;
+import io.jenkins.plugins.checks.api.ChecksStatus;
+
+/**
+ * Measures the conversion of {@link ChecksDetails} into the GitHub objects of {@link GitHubChecksDetails}, which
+ * happens on every publish. Run with the GC profiler (see {@link BenchmarkRunner}) to get the bytes allocated per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class GitHubChecksDetailsBenchmark {
+    @Param({"0", "1000", "50000", "200000"})
+    private int annotations;
+
+    @Param({"0", "10"})
+    private int images;
+
+    @Param({"100", "65535"})
+    private int summaryLength;
+
+    private GitHubChecksDetails details;
+
+    /**
+     * Creates the details to convert.
+     */
+    @Setup
+    public void setUp() {
+        details = new GitHubChecksDetails(createDetails(annotations, images, summaryLength));
+    }
+
+    /**
+     * Converts the output, i.e. the title, summary, text, annotations and images.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void getOutput(final Blackhole blackhole) {
+        blackhole.consume(details.getOutput());
+    }
+
+    /**
+     * Converts the actions.
+     *
+     * @param blackhole
+     *         consumes the result
+     */
+    @Benchmark
+    public void getActions(final Blackhole blackhole) {
+        blackhole.consume(details.getActions());
+    }
+
+    /**
+     * Creates the details of a completed check with the given output.
+     *
+     * @param annotationCount
+     *         the number of annotations
+     * @param imageCount
+     *         the number of images
+     * @param summaryLength
+     *         the number of characters of the summary and the text
+     * @return the details
+     */
+    static ChecksDetails createDetails(final int annotationCount, final int imageCount, final int summaryLength) {
+        List<ChecksAnnotation> annotations = new ArrayList<>(annotationCount);
+        for (int i = 0; i < annotationCount; i++) {
+            annotations.add(new ChecksAnnotationBuilder()
+                    .withPath("src/main/java/io/jenkins/plugins/checks/github/File" + i % 100 + ".java")
+                    .withLine(i + 1)
+                    .withAnnotationLevel(ChecksAnnotationLevel.WARNING)
+                    .withMessage("Unused variable 'value" + i + "'")
+                    .withStartColumn(8)
+                    .withEndColumn(20)
+                    .withTitle("UnusedLocalVariable")
+                    .withRawDetails("Avoid unused local variables such as 'value" + i + "'.")
+                    .build());
+        }
+
+        List<ChecksImage> images = new ArrayList<>(imageCount);
+        for (int i = 0; i < imageCount; i++) {
+            images.add(new ChecksImage("Trend " + i, "https://ci.jenkins.io/job/trend/" + i + ".png", "Trend chart"));
+        }
+
+        return new ChecksDetailsBuilder()
+                .withName("Jenkins")
+                .withStatus(ChecksStatus.COMPLETED)
+                .withConclusion(ChecksConclusion.FAILURE)
+                .withDetailsURL("https://ci.jenkins.io/job/plugins/job/github-checks-plugin/job/main/1/")
+                .withOutput(new ChecksOutputBuilder()
+                        .withTitle(annotationCount + " warnings")
+                        .withSummary(StringUtils.repeat('#', summaryLength))
+                        .withText(StringUtils.repeat('-', summaryLength))
+                        .withAnnotations(annotations)
+                        .withImages(images)
+                        .build())
+                .withActions(Collections.singletonList(new ChecksAction("re-run", "Re-run the build", "#0")))
+                .build();
+    }
+}
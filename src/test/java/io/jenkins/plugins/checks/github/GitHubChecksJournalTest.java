@@ -0,0 +1,46 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import net.sf.json.JSONObject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubChecksJournalTest {
+    @TempDir
+    private File buildDirectory;
+
+    @Test
+    void shouldAppendEntriesInOrder() throws IOException {
+        GitHubChecksJournal journal = new GitHubChecksJournal(buildDirectory);
+
+        journal.append(new JSONObject().element("name", "Jenkins").element("status", "IN_PROGRESS"));
+        journal.append(new JSONObject().element("name", "Jenkins").element("status", "COMPLETED"));
+
+        assertThat(journal.readEntries()).containsExactly(
+                "{\"name\":\"Jenkins\",\"status\":\"IN_PROGRESS\"}",
+                "{\"name\":\"Jenkins\",\"status\":\"COMPLETED\"}");
+    }
+
+    @Test
+    void shouldRotateJournalWhenMaximumSizeIsExceeded() throws IOException {
+        GitHubChecksJournal journal = new GitHubChecksJournal(buildDirectory, 30);
+
+        for (int i = 0; i < 5; i++) {
+            journal.append(new JSONObject().element("attempt", i));
+        }
+
+        assertThat(journal.readEntries()).containsExactly("{\"attempt\":2}", "{\"attempt\":3}", "{\"attempt\":4}");
+        assertThat(new File(buildDirectory, GitHubChecksJournal.FILE_NAME).length()).isLessThanOrEqualTo(30);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        journal.writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"attempt\":2}\n{\"attempt\":3}\n{\"attempt\":4}\n");
+    }
+}
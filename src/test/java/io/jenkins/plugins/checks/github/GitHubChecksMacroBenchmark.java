@@ -0,0 +1,296 @@
+package io.jenkins.plugins.checks.github;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import net.sf.json.JSONObject;
+
+import org.jenkinsci.plugins.github_branch_source.BranchSCMHead;
+import org.jenkinsci.plugins.github_branch_source.GitHubAppCredentials;
+import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestExtension;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import hudson.model.queue.QueueTaskFuture;
+import hudson.util.Secret;
+import jenkins.plugins.git.AbstractGitSCMSource;
+import jenkins.scm.api.SCMRevisionAction;
+import jenkins.scm.api.SCMSource;
+
+import io.jenkins.plugins.checks.github.GitHubChecksStatistics.Outcome;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Measures the overhead of publishing checks on Pipelines. Concurrent Pipeline jobs with many stages and parallel
+ * branches are built twice: once as jobs of a GitHub repository, so that the real {@link GitHubChecksPublisherFactory}
+ * publishes their status to a local WireMock server, and once as jobs without a repository, which is the baseline
+ * since the plugin then does not publish anything. The benchmark is not part of the regular test run, it is executed
+ * by the {@code macrobenchmark} profile: {@code mvn test -Pmacrobenchmark}.
+ *
+ * <p>
+ * The load is configured with the following system properties:
+ * </p>
+ * <ul>
+ *     <li>{@code macro.jobs}: the number of Pipelines built concurrently (default 10)</li>
+ *     <li>{@code macro.stages}: the number of stages of each Pipeline (default 10)</li>
+ *     <li>{@code macro.branches}: the number of parallel branches of each stage (default 4)</li>
+ *     <li>{@code macro.rounds}: the number of measured rounds of each variant (default 3)</li>
+ * </ul>
+ *
+ * <p>
+ * For both variants the mean duration of the builds, the time the CPS VM threads spent publishing, and the growth of
+ * the heap of the controller are logged and written to {@code target/macrobenchmark-report.json}. The heap growth is
+ * only approximate: it compares the lowest used heap sampled after several requests for a garbage collection before
+ * and after the builds, and the JVM is free to ignore these requests.
+ * </p>
+ */
+@WithJenkins
+class GitHubChecksMacroBenchmark {
+    private static final Logger LOGGER = Logger.getLogger(GitHubChecksMacroBenchmark.class.getName());
+    private static final String REPOSITORY_OWNER = "XiongKezhi";
+    private static final String REPOSITORY = "Sandbox";
+    private static final String HEAD_SHA = "18c8e2fd86e7aa3748e279c14a00dc3f0b963e7f";
+    private static final String CREDENTIALS_ID = "github-app";
+    private static final String CHECKS_PREFIX = "checks-";
+    private static final String BASELINE_PREFIX = "baseline-";
+    private static final String CPS_VM_THREAD = "Running CpsFlowExecution";
+
+    private static final int JOBS = Integer.getInteger("macro.jobs", 10);
+    private static final int STAGES = Integer.getInteger("macro.stages", 10);
+    private static final int BRANCHES = Integer.getInteger("macro.branches", 4);
+    private static final int ROUNDS = Integer.getInteger("macro.rounds", 3);
+    private static final int HEAP_SAMPLES = 5;
+
+    private static final AtomicLong CPS_VM_PUBLISH_NANOS = new AtomicLong();
+    private static final AtomicLong CPS_VM_PUBLISHES = new AtomicLong();
+
+    @CheckForNull
+    private static GitHubSCMSource source;
+
+    @RegisterExtension
+    private static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(WireMockConfiguration.options().dynamicPort().disableRequestJournal())
+            .build();
+
+    @Test
+    void measureChecksOverheadPerPipeline(final JenkinsRule j) throws Exception {
+        stubCheckRuns();
+        source = createSource();
+
+        List<WorkflowJob> checksJobs = createJobs(j, CHECKS_PREFIX);
+        List<WorkflowJob> baselineJobs = createJobs(j, BASELINE_PREFIX);
+
+        // Warms up the CPS compilation, the connection to GitHub, and the JIT
+        buildConcurrently(j, baselineJobs);
+        buildConcurrently(j, checksJobs);
+
+        JSONObject baseline = measure(j, baselineJobs);
+        JSONObject checks = measure(j, checksJobs);
+
+        JSONObject report = new JSONObject()
+                .element("jobs", JOBS)
+                .element("stages", STAGES)
+                .element("branches", BRANCHES)
+                .element("rounds", ROUNDS)
+                .element("baseline", baseline)
+                .element("checks", checks)
+                .element("addedMillisPerBuild",
+                        checks.getDouble("meanBuildMillis") - baseline.getDouble("meanBuildMillis"));
+
+        LOGGER.info(() -> "Checks overhead per Pipeline: " + report.toString(2));
+        Path file = Path.of("target", "macrobenchmark-report.json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report.toString(2), StandardCharsets.UTF_8);
+
+        assertThat(checks.getLong("publishes")).isPositive();
+    }
+
+    private static JSONObject measure(final JenkinsRule j, final List<WorkflowJob> jobs) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        GitHubChecksStatistics statistics = GitHubChecksStatistics.get();
+
+        long publishesBefore = statistics.getPublishes(Outcome.SUCCESS) + statistics.getPublishes(Outcome.FAILURE);
+        long failuresBefore = statistics.getPublishes(Outcome.FAILURE);
+        CPS_VM_PUBLISH_NANOS.set(0);
+        CPS_VM_PUBLISHES.set(0);
+        long heapBefore = sampleUsedHeap(memory);
+
+        long buildMillis = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (WorkflowRun run : buildConcurrently(j, jobs)) {
+                buildMillis += run.getDuration();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long heapAfter = sampleUsedHeap(memory);
+        int builds = ROUNDS * jobs.size();
+
+        return new JSONObject()
+                .element("builds", builds)
+                .element("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .element("meanBuildMillis", (double) buildMillis / builds)
+                .element("publishes", statistics.getPublishes(Outcome.SUCCESS)
+                        + statistics.getPublishes(Outcome.FAILURE) - publishesBefore)
+                .element("failedPublishes", statistics.getPublishes(Outcome.FAILURE) - failuresBefore)
+                .element("cpsVmPublishes", CPS_VM_PUBLISHES.get())
+                .element("cpsVmPublishMillisPerBuild",
+                        TimeUnit.NANOSECONDS.toMillis(CPS_VM_PUBLISH_NANOS.get()) / (double) builds)
+                .element("approximateHeapGrowthBytes", heapAfter - heapBefore);
+    }
+
+    /**
+     * Returns the lowest used heap seen after requesting several garbage collections. A single reading after
+     * {@link System#gc()} is unreliable since the request is only a hint.
+     */
+    private static long sampleUsedHeap(final MemoryMXBean memory) throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int sample = 0; sample < HEAP_SAMPLES; sample++) {
+            System.gc();
+            Thread.sleep(100);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    private static List<WorkflowRun> buildConcurrently(final JenkinsRule j, final List<WorkflowJob> jobs)
+            throws Exception {
+        List<QueueTaskFuture<WorkflowRun>> futures = new ArrayList<>();
+        for (WorkflowJob job : jobs) {
+            futures.add(job.scheduleBuild2(0));
+        }
+
+        List<WorkflowRun> runs = new ArrayList<>();
+        for (QueueTaskFuture<WorkflowRun> future : futures) {
+            runs.add(j.assertBuildStatusSuccess(future));
+        }
+        return runs;
+    }
+
+    private static List<WorkflowJob> createJobs(final JenkinsRule j, final String prefix) throws Exception {
+        String script = createScript();
+
+        List<WorkflowJob> jobs = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            WorkflowJob job = j.createProject(WorkflowJob.class, prefix + i);
+            job.setDefinition(new CpsFlowDefinition(script, true));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private static String createScript() {
+        return "for (int s = 0; s < " + STAGES + "; s++) {\n"
+                + "  stage(\"Stage ${s}\") {\n"
+                + "    def branches = [:]\n"
+                + "    for (int b = 0; b < " + BRANCHES + "; b++) {\n"
+                + "      def name = \"Branch ${s}.${b}\"\n"
+                + "      branches[name] = { echo name }\n"
+                + "    }\n"
+                + "    parallel branches\n"
+                + "  }\n"
+                + "}\n";
+    }
+
+    private static GitHubSCMSource createSource() throws Exception {
+        GitHubAppCredentials credentials = new GitHubAppCredentials(CredentialsScope.GLOBAL, CREDENTIALS_ID, null,
+                "54321", Secret.fromString(GitHubChecksPublisherITest.TEST_PRIVATE_KEY));
+        credentials.setApiUri(wireMock.baseUrl());
+        SystemCredentialsProvider.getInstance().getCredentials().add(credentials);
+        SystemCredentialsProvider.getInstance().save();
+
+        GitHubSCMSource gitHubSCMSource = new GitHubSCMSource(REPOSITORY_OWNER, REPOSITORY);
+        gitHubSCMSource.setId("macrobenchmark");
+        gitHubSCMSource.setCredentialsId(CREDENTIALS_ID);
+        return gitHubSCMSource;
+    }
+
+    /**
+     * Accepts every check run that is created or updated, in addition to the mappings of
+     * {@link GitHubChecksPublisherITest}, which only match its specific check runs.
+     */
+    private static void stubCheckRuns() {
+        wireMock.stubFor(post(urlPathEqualTo("/repos/XiongKezhi/Sandbox/check-runs")).atPriority(10)
+                .willReturn(aResponse().withStatus(201)
+                        .withHeader("Content-Type", "application/json; charset=utf-8")
+                        .withBodyFile("create-check-run-response.json")));
+        wireMock.stubFor(patch(urlPathMatching("/repos/XiongKezhi/Sandbox/check-runs/\\d+")).atPriority(10)
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json; charset=utf-8")
+                        .withBodyFile("create-check-run-response.json")));
+        wireMock.stubFor(get(urlPathMatching("/repos/XiongKezhi/Sandbox/commits/[0-9a-f]+/check-runs")).atPriority(10)
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "application/json; charset=utf-8")
+                        .withBodyFile("list-check-runs-response.json")));
+    }
+
+    private static boolean isChecksJob(final Item item) {
+        return item.getName().startsWith(CHECKS_PREFIX);
+    }
+
+    /**
+     * Makes the checks jobs part of the GitHub repository, as if they were branches of a multibranch project.
+     */
+    @TestExtension
+    public static class RepositorySourceByItem extends SCMSource.SourceByItem {
+        @Override
+        @CheckForNull
+        public SCMSource findSource(final Item item) {
+            return item instanceof WorkflowJob && isChecksJob(item) ? source : null;
+        }
+    }
+
+    /**
+     * Records the built commit on every run of a checks job, as a multibranch project does on checkout.
+     */
+    @TestExtension
+    public static class RevisionRunListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onInitialize(final Run<?, ?> run) {
+            if (source != null && isChecksJob(run.getParent())) {
+                run.addAction(new SCMRevisionAction(source,
+                        new AbstractGitSCMSource.SCMRevisionImpl(new BranchSCMHead("master"), HEAD_SHA)));
+            }
+        }
+    }
+
+    /**
+     * Sums up the time spent publishing on the CPS VM threads, which blocks the Pipelines.
+     */
+    @TestExtension
+    public static class CpsVmPublishListener extends GitHubChecksStatistics.Listener {
+        @Override
+        public void onPublished(final Outcome outcome, final long durationNanos) {
+            if (Thread.currentThread().getName().startsWith(CPS_VM_THREAD)) {
+                CPS_VM_PUBLISHES.incrementAndGet();
+                CPS_VM_PUBLISH_NANOS.addAndGet(durationNanos);
+            }
+        }
+    }
+}
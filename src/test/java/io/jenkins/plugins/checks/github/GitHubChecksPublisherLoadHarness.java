@@ -0,0 +1,359 @@
+package io.jenkins.plugins.checks.github;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import net.sf.json.JSONObject;
+
+import org.jenkinsci.plugins.github_branch_source.GitHubAppCredentials;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import hudson.model.Job;
+import hudson.model.Run;
+
+import io.jenkins.plugins.checks.api.ChecksAction;
+import io.jenkins.plugins.checks.api.ChecksAnnotation.ChecksAnnotationBuilder;
+import io.jenkins.plugins.checks.api.ChecksAnnotation.ChecksAnnotationLevel;
+import io.jenkins.plugins.checks.api.ChecksConclusion;
+import io.jenkins.plugins.checks.api.ChecksDetails;
+import io.jenkins.plugins.checks.api.ChecksDetails.ChecksDetailsBuilder;
+import io.jenkins.plugins.checks.api.ChecksImage;
+import io.jenkins.plugins.checks.api.ChecksOutput.ChecksOutputBuilder;
+import io.jenkins.plugins.checks.api.ChecksStatus;
+import io.jenkins.plugins.checks.github.GitHubChecksStatistics.Outcome;
+import io.jenkins.plugins.util.PluginLogger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives many concurrent {@link GitHubChecksPublisher#publish(ChecksDetails)} calls against a local WireMock server
+ * that serves the same fixtures as {@link GitHubChecksPublisherITest}. The harness is not part of the regular test
+ * run, it is executed together with the JMH benchmarks by the {@code benchmark} profile: {@code mvn test
+ * -Pbenchmark}. Use {@code -Dtest=GitHubChecksPublisherLoadHarness} to run the harness only.
+ *
+ * <p>
+ * The load is configured with the following system properties:
+ * </p>
+ * <ul>
+ *     <li>{@code load.publishes}: the number of checks to publish (default 5000)</li>
+ *     <li>{@code load.threads}: the number of concurrent publishers (default 200)</li>
+ *     <li>{@code load.latencyMillis}: the latency added to every response of the server (default 20)</li>
+ *     <li>{@code load.failureRate}: the ratio of responses that are replaced by a 503 (default 0.02)</li>
+ *     <li>{@code load.rateLimitRemaining}: the remaining requests reported in the rate limit headers, a negative
+ *     value keeps the headers of the fixtures (default 100)</li>
+ * </ul>
+ *
+ * <p>
+ * Throughput, tail latency and the number of API calls are printed and written to
+ * {@code target/publisher-load-report.json}.
+ * </p>
+ */
+class GitHubChecksPublisherLoadHarness {
+    private static final String REPOSITORY = "XiongKezhi/Sandbox";
+    private static final String HEAD_SHA = "18c8e2fd86e7aa3748e279c14a00dc3f0b963e7f";
+
+    private static final int PUBLISHES = Integer.getInteger("load.publishes", 5000);
+    private static final int THREADS = Integer.getInteger("load.threads", 200);
+    private static final int LATENCY_MILLIS = Integer.getInteger("load.latencyMillis", 20);
+    private static final double FAILURE_RATE = Double.parseDouble(System.getProperty("load.failureRate", "0.02"));
+    private static final int RATE_LIMIT_REMAINING = Integer.getInteger("load.rateLimitRemaining", 100);
+
+    private static final Logger PUBLISHER_LOGGER = Logger.getLogger(GitHubChecksPublisher.class.getName());
+
+    private static final LoadInjector INJECTOR = new LoadInjector();
+
+    @RegisterExtension
+    private static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(WireMockConfiguration.options()
+                    .dynamicPort()
+                    .containerThreads(THREADS + 10)
+                    .disableRequestJournal()
+                    .extensions(INJECTOR))
+            .build();
+
+    @Test
+    void publishUnderLoad() throws Exception {
+        GitHub gitHub = new GitHubBuilder().withEndpoint(wireMock.baseUrl()).build();
+        GitHubAppCredentials credentials = mock(GitHubAppCredentials.class);
+        when(credentials.getAppID()).thenReturn("load-harness");
+        PluginLogger buildLogger = new PluginLogger(new PrintStream(OutputStream.nullOutputStream(), false,
+                StandardCharsets.UTF_8), "GitHub Checks");
+        ChecksDetails details = createDetails();
+
+        // Every injected failure would log the complete check run otherwise
+        Level level = PUBLISHER_LOGGER.getLevel();
+        PUBLISHER_LOGGER.setLevel(Level.SEVERE);
+
+        GitHubChecksStatistics statistics = GitHubChecksStatistics.get();
+        long successesBefore = statistics.getPublishes(Outcome.SUCCESS);
+        long failuresBefore = statistics.getPublishes(Outcome.FAILURE);
+        Map<String, Long> apiCallsBefore = statistics.getApiCalls();
+        INJECTOR.reset();
+
+        long[] latencies = new long[PUBLISHES];
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(PUBLISHES);
+            for (int i = 0; i < PUBLISHES; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    GitHubChecksPublisher publisher = new GitHubChecksPublisher(
+                            new LoadContext(credentials), buildLogger, wireMock.baseUrl()) {
+                        @Override
+                        GitHub connect(final String apiUri, final StandardUsernameCredentials ignored) {
+                            return gitHub;
+                        }
+                    };
+                    long publishStart = System.nanoTime();
+                    publisher.publish(details);
+                    latencies[index] = System.nanoTime() - publishStart;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+            PUBLISHER_LOGGER.setLevel(level);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        JSONObject report = new JSONObject()
+                .element("publishes", PUBLISHES)
+                .element("threads", THREADS)
+                .element("latencyMillis", LATENCY_MILLIS)
+                .element("failureRate", FAILURE_RATE)
+                .element("rateLimitRemaining", RATE_LIMIT_REMAINING)
+                .element("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .element("throughputPerSecond", PUBLISHES * (double) TimeUnit.SECONDS.toNanos(1) / elapsed)
+                .element("successes", statistics.getPublishes(Outcome.SUCCESS) - successesBefore)
+                .element("failures", statistics.getPublishes(Outcome.FAILURE) - failuresBefore)
+                .element("latencyP50Millis", percentile(latencies, 50))
+                .element("latencyP90Millis", percentile(latencies, 90))
+                .element("latencyP99Millis", percentile(latencies, 99))
+                .element("latencyP999Millis", percentile(latencies, 99.9))
+                .element("latencyMaxMillis", TimeUnit.NANOSECONDS.toMillis(latencies[PUBLISHES - 1]))
+                .element("apiCalls", difference(statistics.getApiCalls(), apiCallsBefore))
+                .element("httpRequests", INJECTOR.getRequests())
+                .element("injectedFailures", INJECTOR.getFailures());
+
+        System.out.println(report.toString(2));
+        Path file = Path.of("target", "publisher-load-report.json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report.toString(2), StandardCharsets.UTF_8);
+
+        assertThat(report.getLong("successes") + report.getLong("failures")).isEqualTo(PUBLISHES);
+    }
+
+    private static double percentile(final long[] sorted, final double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static Map<String, Long> difference(final Map<String, Long> after, final Map<String, Long> before) {
+        Map<String, Long> difference = new TreeMap<>();
+        after.forEach((endpoint, count) -> difference.put(endpoint, count - before.getOrDefault(endpoint, 0L)));
+        return difference;
+    }
+
+    /**
+     * Creates the check run that matches the {@code create-check-run} mapping.
+     */
+    private static ChecksDetails createDetails() {
+        return new ChecksDetailsBuilder()
+                .withName("Jenkins")
+                .withStatus(ChecksStatus.COMPLETED)
+                .withDetailsURL("https://ci.jenkins.io")
+                .withStartedAt(LocalDateTime.ofEpochSecond(999_999, 0, ZoneOffset.UTC))
+                .withCompletedAt(LocalDateTime.ofEpochSecond(999_999, 0, ZoneOffset.UTC))
+                .withConclusion(ChecksConclusion.SUCCESS)
+                .withOutput(new ChecksOutputBuilder()
+                        .withTitle("Jenkins Check")
+                        .withSummary("# A Successful Build")
+                        .withText("## 0 Failures")
+                        .withAnnotations(Arrays.asList(
+                                new ChecksAnnotationBuilder()
+                                        .withPath("Jenkinsfile")
+                                        .withLine(1)
+                                        .withAnnotationLevel(ChecksAnnotationLevel.NOTICE)
+                                        .withMessage("say hello to Jenkins")
+                                        .withStartColumn(0)
+                                        .withEndColumn(20)
+                                        .withTitle("Hello Jenkins")
+                                        .withRawDetails("a simple echo command")
+                                        .build(),
+                                new ChecksAnnotationBuilder()
+                                        .withPath("Jenkinsfile")
+                                        .withLine(2)
+                                        .withAnnotationLevel(ChecksAnnotationLevel.WARNING)
+                                        .withMessage("say hello to GitHub Checks API")
+                                        .withStartColumn(0)
+                                        .withEndColumn(30)
+                                        .withTitle("Hello GitHub Checks API")
+                                        .withRawDetails("a simple echo command")
+                                        .build()))
+                        .withImages(Collections.singletonList(
+                                new ChecksImage("Jenkins",
+                                        "https://ci.jenkins.io/static/cd5757a8/images/jenkins-header-logo-v2.svg",
+                                        "Jenkins Symbol")))
+                        .build())
+                .withActions(Collections.singletonList(
+                        new ChecksAction("re-run", "re-run Jenkins build", "#0")))
+                .build();
+    }
+
+    /**
+     * A context without a run, so that every publish creates a new check run.
+     */
+    private static class LoadContext extends GitHubChecksContext {
+        private final StandardUsernameCredentials credentials;
+
+        LoadContext(final StandardUsernameCredentials credentials) {
+            super(mock(Job.class), "https://ci.jenkins.io", new SCMFacade());
+
+            this.credentials = credentials;
+        }
+
+        @Override
+        public String getHeadSha() {
+            return HEAD_SHA;
+        }
+
+        @Override
+        public String getRepository() {
+            return REPOSITORY;
+        }
+
+        @Override
+        public boolean isValid(final FilteredLog logger) {
+            return true;
+        }
+
+        @Override
+        protected String getCredentialsId() {
+            return "load-harness";
+        }
+
+        @Override
+        public StandardUsernameCredentials getCredentials() {
+            return credentials;
+        }
+
+        @Override
+        protected Optional<Run<?, ?>> getRun() {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Adds latency, 503 responses and rate limit headers to the responses of the fixtures and counts the requests
+     * that reached the server.
+     */
+    private static class LoadInjector implements ResponseDefinitionTransformerV2 {
+        private final Map<String, AtomicLong> requests = new ConcurrentHashMap<>();
+        private final AtomicLong failures = new AtomicLong();
+
+        @Override
+        public ResponseDefinition transform(final ServeEvent serveEvent) {
+            requests.computeIfAbsent(serveEvent.getRequest().getMethod() + " " + serveEvent.getRequest().getUrl(),
+                    key -> new AtomicLong()).incrementAndGet();
+
+            ResponseDefinition definition = serveEvent.getResponseDefinition();
+            ResponseDefinitionBuilder response;
+            if (FAILURE_RATE > 0 && ThreadLocalRandom.current().nextDouble() < FAILURE_RATE) {
+                failures.incrementAndGet();
+                response = aResponse()
+                        .withStatus(503)
+                        .withBody("{\"message\":\"Service Unavailable\"}");
+            }
+            else {
+                response = ResponseDefinitionBuilder.like(definition);
+            }
+
+            return response
+                    .withHeaders(getHeaders(definition))
+                    .withFixedDelay(LATENCY_MILLIS)
+                    .build();
+        }
+
+        private HttpHeaders getHeaders(final ResponseDefinition definition) {
+            HttpHeaders headers = definition.getHeaders() == null ? new HttpHeaders() : definition.getHeaders();
+            if (RATE_LIMIT_REMAINING < 0) {
+                return headers;
+            }
+
+            List<HttpHeader> rateLimited = new ArrayList<>();
+            for (HttpHeader header : headers.all()) {
+                if (!header.keyEquals("X-RateLimit-Remaining") && !header.keyEquals("X-RateLimit-Limit")
+                        && !header.keyEquals("X-RateLimit-Reset")) {
+                    rateLimited.add(header);
+                }
+            }
+            rateLimited.add(HttpHeader.httpHeader("X-RateLimit-Limit", "5000"));
+            rateLimited.add(HttpHeader.httpHeader("X-RateLimit-Remaining", String.valueOf(RATE_LIMIT_REMAINING)));
+            rateLimited.add(HttpHeader.httpHeader("X-RateLimit-Reset",
+                    String.valueOf(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3600)));
+            return new HttpHeaders(rateLimited);
+        }
+
+        void reset() {
+            requests.clear();
+            failures.set(0);
+        }
+
+        Map<String, Long> getRequests() {
+            Map<String, Long> counts = new TreeMap<>();
+            requests.forEach((request, count) -> counts.put(request, count.get()));
+            return counts;
+        }
+
+        long getFailures() {
+            return failures.get();
+        }
+
+        @Override
+        public String getName() {
+            return "github-checks-load-injector";
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.jenkins.plugins.checks.github.GitHubChecksStatistics.Outcome;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class GitHubChecksStatisticsTest {
+    @Test
+    void shouldAggregateRecordedStatistics() {
+        GitHubChecksStatistics statistics = new GitHubChecksStatistics();
+
+        statistics.recordPublish(Outcome.SUCCESS, 10);
+        statistics.recordPublish(Outcome.SUCCESS, 20);
+        statistics.recordPublish(Outcome.FAILURE, 30);
+        statistics.recordApiCall("repository");
+        statistics.recordApiCall("check-runs.create");
+        statistics.recordApiCall("repository");
+        statistics.recordRateLimit("1234/jenkinsci", 4999, 5000, new Date());
+        statistics.recordRateLimit("1234/jenkinsci", 4998, 5000, new Date());
+        statistics.recordWebhook(40);
+
+        assertThat(statistics.getPublishes(Outcome.SUCCESS)).isEqualTo(2);
+        assertThat(statistics.getPublishes(Outcome.FAILURE)).isEqualTo(1);
+        assertThat(statistics.getPublishes(Outcome.SKIPPED)).isZero();
+        assertThat(statistics.getApiCalls()).containsExactly(entry("check-runs.create", 1L), entry("repository", 2L));
+        assertThat(statistics.getRateLimitRemaining()).containsExactly(entry("1234/jenkinsci", 4998));
+        assertThat(statistics.getWebhookEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldComputeLatencyPercentilesOfRecentPublishes() {
+        GitHubChecksStatistics statistics = new GitHubChecksStatistics();
+        assertThat(statistics.getPublishLatencyMillis(50)).isZero();
+
+        for (int millis = 1; millis <= 100; millis++) {
+            statistics.recordPublish(Outcome.SUCCESS, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        statistics.recordPublish(Outcome.SKIPPED, TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(statistics.getPublishLatencyMillis(50)).isEqualTo(50);
+        assertThat(statistics.getPublishLatencyMillis(99)).isEqualTo(99);
+        assertThat(statistics.getPublishLatencyMillis(100)).isEqualTo(100);
+    }
+
+    @Test
+    void shouldTrackInFlightPublishesAndRecentFailures() {
+        GitHubChecksStatistics statistics = new GitHubChecksStatistics();
+
+        statistics.startPublish("jenkinsci/github-checks-plugin");
+        statistics.startPublish("jenkinsci/github-checks-plugin");
+        statistics.startPublish("jenkinsci/checks-api-plugin");
+        statistics.finishPublish("jenkinsci/checks-api-plugin");
+        assertThat(statistics.getInFlightPublishes()).containsExactly(entry("jenkinsci/github-checks-plugin", 2));
+
+        for (int i = 0; i < 25; i++) {
+            statistics.recordFailure("jenkinsci/github-checks-plugin", "Jenkins", "failure " + i);
+        }
+        assertThat(statistics.getRecentFailures()).hasSize(20)
+                .first().satisfies(failure -> assertThat(failure.getMessage()).isEqualTo("failure 24"));
+    }
+}
@@ -0,0 +1,45 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class GitHubRateLimitMonitorTest {
+    @Test
+    void shouldActivateWhenInstallationDropsBelowBudget() {
+        GitHubChecksStatistics statistics = new GitHubChecksStatistics();
+        GitHubRateLimitMonitor monitor = new GitHubRateLimitMonitor(statistics, 100);
+        assertThat(monitor.isActivated()).isFalse();
+
+        statistics.recordRateLimit("1234/jenkinsci", 4000, 5000, inOneHour());
+        statistics.recordRateLimit("1234/jenkins-infra", 100, 5000, inOneHour());
+        assertThat(monitor.isActivated()).isFalse();
+
+        statistics.recordRateLimit("1234/jenkins-infra", 99, 5000, inOneHour());
+        assertThat(monitor.isActivated()).isTrue();
+        assertThat(monitor.getExhaustedInstallations()).containsExactly(entry("1234/jenkins-infra", 99));
+    }
+
+    @Test
+    void shouldSkipInstallationsWhoseRateLimitHasBeenReset() {
+        GitHubChecksStatistics statistics = new GitHubChecksStatistics();
+        GitHubRateLimitMonitor monitor = new GitHubRateLimitMonitor(statistics, 100);
+
+        statistics.recordRateLimit("1234/jenkinsci", 0, 5000, new Date(1000));
+        statistics.recordRateLimit("1234/jenkins-infra", 10, 5000, new Date(2000));
+
+        assertThat(monitor.getExhaustedInstallations(999))
+                .containsExactly(entry("1234/jenkins-infra", 10), entry("1234/jenkinsci", 0));
+        assertThat(monitor.getExhaustedInstallations(1000)).containsExactly(entry("1234/jenkins-infra", 10));
+        assertThat(monitor.getExhaustedInstallations(2000)).isEmpty();
+        assertThat(monitor.isActivated()).isFalse();
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+    }
+}
@@ -0,0 +1,128 @@
+package io.jenkins.plugins.checks.github;
+
+import java.util.Optional;
+
+import org.jenkinsci.plugins.github_branch_source.GitHubSCMSource;
+import org.junit.jupiter.api.Test;
+
+import hudson.model.Item;
+import hudson.model.Job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GitHubRepositoryIndexTest {
+    @Test
+    void shouldIndexJobsByRepository() {
+        Job<?, ?> job = createJob("index-test/master");
+        Job<?, ?> otherJob = createJob("index-test/other");
+        GitHubSCMSource source = mock(GitHubSCMSource.class);
+        when(source.getRepoOwner()).thenReturn("Jenkinsci");
+        when(source.getRepository()).thenReturn("Index-Test-Plugin");
+
+        SCMFacade scmFacade = mock(SCMFacade.class);
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(source));
+        when(scmFacade.findGitHubSCMSource(otherJob)).thenReturn(Optional.empty());
+
+        assertThat(GitHubRepositoryIndex.getRepository(job, scmFacade)).contains("jenkinsci/index-test-plugin");
+        assertThat(GitHubRepositoryIndex.getRepository(job, scmFacade)).contains("jenkinsci/index-test-plugin");
+        assertThat(GitHubRepositoryIndex.getRepository(otherJob, scmFacade)).isEmpty();
+        verify(scmFacade, times(1)).findGitHubSCMSource(job);
+
+        assertThat(GitHubRepositoryIndex.getJobs(null, "jenkinsci/Index-Test-Plugin")).containsExactly(job);
+        assertThat(GitHubRepositoryIndex.getJobs("https://api.github.com/", "jenkinsci/Index-Test-Plugin"))
+                .containsExactly(job);
+        assertThat(GitHubRepositoryIndex.getJobs(null, "jenkinsci/unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldDistinguishRepositoriesOfDifferentServers() {
+        Job<?, ?> job = createJob("server-test/master");
+        Job<?, ?> enterpriseJob = createJob("server-test-enterprise/master");
+        GitHubSCMSource source = mock(GitHubSCMSource.class);
+        when(source.getApiUri()).thenReturn("https://api.github.com");
+        when(source.getRepoOwner()).thenReturn("jenkinsci");
+        when(source.getRepository()).thenReturn("server-test-plugin");
+        GitHubSCMSource enterpriseSource = mock(GitHubSCMSource.class);
+        when(enterpriseSource.getApiUri()).thenReturn("https://github.example.com/api/v3");
+        when(enterpriseSource.getRepoOwner()).thenReturn("jenkinsci");
+        when(enterpriseSource.getRepository()).thenReturn("server-test-plugin");
+
+        SCMFacade scmFacade = mock(SCMFacade.class);
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(source));
+        when(scmFacade.findGitHubSCMSource(enterpriseJob)).thenReturn(Optional.of(enterpriseSource));
+
+        assertThat(GitHubRepositoryIndex.getRepository(job, scmFacade)).contains("jenkinsci/server-test-plugin");
+        assertThat(GitHubRepositoryIndex.getRepository(enterpriseJob, scmFacade))
+                .contains("jenkinsci/server-test-plugin");
+
+        assertThat(GitHubRepositoryIndex.getJobs(null, "jenkinsci/server-test-plugin")).containsExactly(job);
+        assertThat(GitHubRepositoryIndex.getJobs("https://github.example.com/api/v3", "jenkinsci/server-test-plugin"))
+                .containsExactly(enterpriseJob);
+    }
+
+    @Test
+    void shouldNotReplaceEntryOfListenerWithStaleLookup() {
+        Job<?, ?> job = createJob("stale-test/master");
+        SCMFacade staleFacade = createFacade(job, "stale-test-plugin");
+        SCMFacade freshFacade = createFacade(job, "fresh-test-plugin");
+
+        GitHubRepositoryIndex.index(job, freshFacade, true);
+        GitHubRepositoryIndex.index(job, staleFacade, false);
+
+        assertThat(GitHubRepositoryIndex.getRepository(job, staleFacade)).contains("jenkinsci/fresh-test-plugin");
+        assertThat(GitHubRepositoryIndex.getJobs(null, "jenkinsci/fresh-test-plugin")).containsExactly(job);
+        assertThat(GitHubRepositoryIndex.getJobs(null, "jenkinsci/stale-test-plugin")).isEmpty();
+
+        GitHubRepositoryIndex.index(job, staleFacade, true);
+
+        assertThat(GitHubRepositoryIndex.getJobs(null, "jenkinsci/stale-test-plugin")).containsExactly(job);
+        assertThat(GitHubRepositoryIndex.getJobs(null, "jenkinsci/fresh-test-plugin")).isEmpty();
+    }
+
+    @Test
+    void shouldFindIndexedJobsOfFolderOnly() {
+        Job<?, ?> branch = createJob("folder-test/project/master");
+        Job<?, ?> pullRequest = createJob("folder-test/project/PR-1");
+        Job<?, ?> otherProject = createJob("folder-test/project-2/master");
+        SCMFacade scmFacade = mock(SCMFacade.class);
+        when(scmFacade.findGitHubSCMSource(branch)).thenReturn(Optional.empty());
+        when(scmFacade.findGitHubSCMSource(pullRequest)).thenReturn(Optional.empty());
+        when(scmFacade.findGitHubSCMSource(otherProject)).thenReturn(Optional.empty());
+        GitHubRepositoryIndex.getRepository(branch, scmFacade);
+        GitHubRepositoryIndex.getRepository(pullRequest, scmFacade);
+        GitHubRepositoryIndex.getRepository(otherProject, scmFacade);
+
+        Item project = mock(Item.class);
+        when(project.getFullName()).thenReturn("folder-test/project");
+        Item folder = mock(Item.class);
+        when(folder.getFullName()).thenReturn("folder-test");
+
+        assertThat(GitHubRepositoryIndex.getIndexedJobsIn(project)).containsExactlyInAnyOrder(branch, pullRequest);
+        assertThat(GitHubRepositoryIndex.getIndexedJobsIn(folder))
+                .containsExactlyInAnyOrder(branch, pullRequest, otherProject);
+
+        new GitHubRepositoryIndex.IndexingItemListener().onDeleted(branch);
+
+        assertThat(GitHubRepositoryIndex.getIndexedJobsIn(project)).containsExactly(pullRequest);
+    }
+
+    private Job<?, ?> createJob(final String fullName) {
+        Job<?, ?> job = mock(Job.class);
+        when(job.getFullName()).thenReturn(fullName);
+        return job;
+    }
+
+    private SCMFacade createFacade(final Job<?, ?> job, final String repository) {
+        GitHubSCMSource source = mock(GitHubSCMSource.class);
+        when(source.getRepoOwner()).thenReturn("jenkinsci");
+        when(source.getRepository()).thenReturn(repository);
+
+        SCMFacade scmFacade = mock(SCMFacade.class);
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(source));
+        return scmFacade;
+    }
+}
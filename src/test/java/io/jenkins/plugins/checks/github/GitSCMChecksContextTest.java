@@ -1,10 +1,24 @@
 package io.jenkins.plugins.checks.github;
 
+import hudson.model.Job;
 import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.plugins.git.Revision;
+import hudson.plugins.git.util.Build;
+import hudson.plugins.git.util.BuildData;
+import org.eclipse.jgit.lib.ObjectId;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class GitSCMChecksContextTest {
     @Test
@@ -14,10 +28,83 @@ class GitSCMChecksContextTest {
                 "git@localhost:jenkinsci/github-checks-plugin",
                 "git@github.com:jenkinsci/github-checks-plugin",
                 "http://github.com/jenkinsci/github-checks-plugin.git",
-                "https://github.com/jenkinsci/github-checks-plugin.git"
+                "https://github.com/jenkinsci/github-checks-plugin.git",
+                "https://github.example.com:8443/jenkinsci/github-checks-plugin.git",
+                "ssh://git@github.example.com:7999/jenkinsci/github-checks-plugin.git"
         }) {
             assertThat(new GitSCMChecksContext(mock(Run.class), "").getRepository(url))
                     .isEqualTo("jenkinsci/github-checks-plugin");
         }
     }
+
+    @Test
+    void shouldNotGetRepositoryFromUnsupportedUrl() {
+        for (String url : new String[]{
+                "",
+                "github-checks-plugin",
+                "https://github.com/jenkinsci",
+                "https://github.com/jenkinsci/github-checks-plugin/pulls"
+        }) {
+            assertThat(new GitSCMChecksContext(mock(Run.class), "").getRepository(url)).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldNotGetRepositoryFromNestedScpLikeUrl() {
+        assertThat(new GitSCMChecksContext(mock(Run.class), "").getRepository(
+                "git@gitlab.example.com:jenkinsci/plugins/github-checks-plugin.git")).isEmpty();
+    }
+
+    @Test
+    void shouldUseConfiguredEnterpriseApiUri() {
+        List<String> configured = Arrays.asList("https://github.example.com/api/v3", "http://ghe.example.com:8080/api/v3");
+
+        assertThat(GitHubRepositoryUrl.parse("https://github.com/jenkinsci/github-checks-plugin.git")
+                .flatMap(url -> url.getEnterpriseApiUri(() -> configured))).isEmpty();
+        assertThat(GitHubRepositoryUrl.parse("git@github.example.com:jenkinsci/github-checks-plugin.git")
+                .flatMap(url -> url.getEnterpriseApiUri(() -> configured))).contains("https://github.example.com/api/v3");
+        assertThat(GitHubRepositoryUrl.parse("http://GHE.example.com:8080/jenkinsci/github-checks-plugin")
+                .flatMap(url -> url.getEnterpriseApiUri(() -> configured))).contains("http://ghe.example.com:8080/api/v3");
+        assertThat(GitHubRepositoryUrl.parse("ssh://git@github.example.com:7999/jenkinsci/github-checks-plugin")
+                .flatMap(url -> url.getEnterpriseApiUri(() -> configured))).contains("https://github.example.com/api/v3");
+    }
+
+    @Test
+    void shouldKeepDefaultApiUriForUnknownHosts() {
+        List<String> configured = Collections.singletonList("https://github.example.com/api/v3");
+
+        assertThat(GitHubRepositoryUrl.parse("git@github-work:jenkinsci/github-checks-plugin.git")
+                .flatMap(url -> url.getEnterpriseApiUri(() -> configured))).isEmpty();
+        assertThat(GitHubRepositoryUrl.parse("https://git.example.com/jenkinsci/github-checks-plugin.git")
+                .flatMap(url -> url.getEnterpriseApiUri(() -> configured))).isEmpty();
+    }
+
+    @Test
+    void shouldNotLookUpConfiguredServersForGitHubDotCom() {
+        assertThat(GitHubRepositoryUrl.parse("git@github.com:jenkinsci/github-checks-plugin.git")
+                .flatMap(url -> url.getEnterpriseApiUri(() -> {
+                    throw new AssertionError("configured servers must not be looked up for github.com");
+                }))).isEmpty();
+    }
+
+    @Test
+    void shouldResolveHeadShaFromBuildDataWithoutEnvironment() throws IOException, InterruptedException {
+        Job job = mock(Job.class);
+        Run run = mock(Run.class);
+        SCMFacade scmFacade = mock(SCMFacade.class);
+
+        BuildData buildData = mock(BuildData.class);
+        Build lastBuild = mock(Build.class);
+        buildData.lastBuild = lastBuild;
+        when(lastBuild.getBuildNumber()).thenReturn(1);
+        when(lastBuild.getRevision()).thenReturn(
+                new Revision(ObjectId.fromString("4ecc8623b06d99d5f029b66927438554fdd6a467")));
+        when(run.getNumber()).thenReturn(1);
+        when(run.getAction(BuildData.class)).thenReturn(buildData);
+        when(run.getParent()).thenReturn(job);
+
+        assertThat(new GitSCMChecksContext(run, "", scmFacade).getHeadSha())
+                .isEqualTo("4ecc8623b06d99d5f029b66927438554fdd6a467");
+        verify(run, never()).getEnvironment(TaskListener.NULL);
+    }
 }
@@ -0,0 +1,93 @@
+package io.jenkins.plugins.checks.github;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Item;
+import hudson.plugins.git.GitSCM;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SCMFacadeTest {
+    @Test
+    void shouldCacheScmOfJobUntilInvalidated() {
+        FreeStyleProject job = mock(FreeStyleProject.class);
+        GitSCM scm = mock(GitSCM.class);
+        when(job.getScm()).thenReturn(scm);
+
+        SCMFacade facade = new SCMFacade();
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        assertThat(new SCMFacade().findGitSCM(job)).contains(scm);
+        verify(job, times(2)).getScm();
+
+        SCMFacade.invalidate(job);
+
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        verify(job, times(4)).getScm();
+    }
+
+    @Test
+    void shouldFindScmOfPipelineAfterItsFirstBuild() {
+        WorkflowJob job = mock(WorkflowJob.class);
+        GitSCM scm = mock(GitSCM.class);
+        when(job.getSCMs()).thenReturn(Collections.emptyList());
+
+        SCMFacade facade = new SCMFacade();
+        assertThat(facade.findGitSCM(job)).isEmpty();
+
+        when(job.getSCMs()).thenReturn(Collections.singletonList(scm));
+
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        verify(job, times(2)).getSCMs();
+    }
+
+    @Test
+    void shouldNotCacheScmOfPipelineWhileItIsBuilding() {
+        WorkflowJob job = mock(WorkflowJob.class);
+        GitSCM scm = mock(GitSCM.class);
+        when(job.getSCMs()).thenReturn(Collections.singletonList(scm));
+        when(job.isBuilding()).thenReturn(true);
+
+        SCMFacade facade = new SCMFacade();
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        verify(job, times(2)).getSCMs();
+
+        when(job.isBuilding()).thenReturn(false);
+
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        assertThat(facade.findGitSCM(job)).contains(scm);
+        verify(job, times(3)).getSCMs();
+    }
+
+    @Test
+    void shouldOnlyInvalidateJobsWithinSavedItem() {
+        GitSCM scm = mock(GitSCM.class);
+        FreeStyleProject inside = mock(FreeStyleProject.class);
+        when(inside.getFullName()).thenReturn("folder/job");
+        when(inside.getScm()).thenReturn(scm);
+        FreeStyleProject outside = mock(FreeStyleProject.class);
+        when(outside.getFullName()).thenReturn("folder-2/job");
+        when(outside.getScm()).thenReturn(scm);
+        Item folder = mock(Item.class);
+        when(folder.getFullName()).thenReturn("folder");
+
+        SCMFacade facade = new SCMFacade();
+        facade.findGitSCM(inside);
+        facade.findGitSCM(outside);
+
+        SCMFacade.invalidateDescendants(folder);
+
+        facade.findGitSCM(inside);
+        facade.findGitSCM(outside);
+        verify(inside, times(4)).getScm();
+        verify(outside, times(2)).getScm();
+    }
+}
@@ -12,6 +12,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class GitHubStatusChecksPropertiesTest {
@@ -81,6 +83,63 @@ class GitHubStatusChecksPropertiesTest {
                 true, "Jenkins", false, false, false);
     }
 
+    @Test
+    void shouldReuseConfigurationWithoutLookingUpSCMSourceUntilJobIsUpdated() {
+        Job job = mock(Job.class);
+        SCMFacade scmFacade = mock(SCMFacade.class);
+        GitHubSCMSource source = mock(GitHubSCMSource.class);
+        GitHubSCMSourceStatusChecksTrait trait = new GitHubSCMSourceStatusChecksTrait();
+        trait.setName("Original");
+
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(source));
+        when(source.getTraits()).thenReturn(Collections.singletonList(trait));
+
+        GitHubStatusChecksProperties properties = new GitHubStatusChecksProperties(scmFacade);
+        assertThat(properties.getName(job)).isEqualTo("Original");
+        assertThat(properties.isSkipped(job)).isFalse();
+        assertThat(properties.isSuppressLogs(job)).isFalse();
+        verify(source, times(1)).getTraits();
+        verify(scmFacade, times(1)).findGitHubSCMSource(job);
+
+        GitHubSCMSource reconfiguredSource = mock(GitHubSCMSource.class);
+        GitHubSCMSourceStatusChecksTrait reconfiguredTrait = new GitHubSCMSourceStatusChecksTrait();
+        reconfiguredTrait.setName("Reconfigured");
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(reconfiguredSource));
+        when(reconfiguredSource.getTraits()).thenReturn(Collections.singletonList(reconfiguredTrait));
+        assertThat(properties.getName(job)).isEqualTo("Original");
+
+        new SCMFacade.CacheInvalidatingItemListener().onUpdated(job);
+        assertThat(properties.getName(job)).isEqualTo("Reconfigured");
+    }
+
+    @Test
+    void shouldPickUpChangedTraitsWhenJobIsSaved() {
+        Job job = mock(Job.class);
+        SCMFacade scmFacade = mock(SCMFacade.class);
+        GitHubSCMSource source = mock(GitHubSCMSource.class);
+        GitHubSCMSourceStatusChecksTrait trait = new GitHubSCMSourceStatusChecksTrait();
+        trait.setName("Original");
+
+        when(scmFacade.findGitHubSCMSource(job)).thenReturn(Optional.of(source));
+        when(source.getTraits()).thenReturn(Collections.singletonList(trait));
+
+        GitHubStatusChecksProperties properties = new GitHubStatusChecksProperties(scmFacade);
+        assertThat(properties.getName(job)).isEqualTo("Original");
+
+        GitHubSCMSourceStatusChecksTrait changedTrait = new GitHubSCMSourceStatusChecksTrait();
+        changedTrait.setName("Changed");
+        when(source.getTraits()).thenReturn(Collections.singletonList(changedTrait));
+        assertThat(properties.getName(job)).isEqualTo("Original");
+
+        new SCMFacade.CacheInvalidatingSaveableListener().onChange(job, null);
+        assertThat(properties.getName(job)).isEqualTo("Changed");
+
+        trait.setName("Updated");
+        when(source.getTraits()).thenReturn(Collections.singletonList(trait));
+        new SCMFacade.CacheInvalidatingItemListener().onUpdated(job);
+        assertThat(properties.getName(job)).isEqualTo("Updated");
+    }
+
     @Test
     void shouldNotApplicableToJobWithoutSupportedSCM() {
         Job job = mock(Job.class);